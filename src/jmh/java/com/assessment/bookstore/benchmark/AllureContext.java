@@ -0,0 +1,65 @@
+package com.assessment.bookstore.benchmark;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Runs each benchmark thread inside an Allure test case, as JUnit does for the suites, so that woven
+ * {@code *Client} calls record real steps. Results are discarded and the step list is reset periodically
+ * to keep the heap flat.
+ */
+@State(Scope.Thread)
+public class AllureContext {
+
+    private static final int STEPS_BEFORE_RESET = 1024;
+    private static final AllureLifecycle LIFECYCLE = new AllureLifecycle(new DiscardingWriter());
+
+    private String testUuid;
+    private int steps;
+
+    @Setup
+    public void setUp() {
+        Allure.setLifecycle(LIFECYCLE);
+        testUuid = UUID.randomUUID().toString();
+        LIFECYCLE.scheduleTestCase(new TestResult().setUuid(testUuid).setName("benchmark"));
+        LIFECYCLE.startTestCase(testUuid);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LIFECYCLE.stopTestCase(testUuid);
+        LIFECYCLE.writeTestCase(testUuid);
+    }
+
+    public void stepTaken() {
+        if (++steps == STEPS_BEFORE_RESET) {
+            steps = 0;
+            LIFECYCLE.updateTestCase(testUuid, result -> result.getSteps().clear());
+        }
+    }
+
+    private static final class DiscardingWriter implements AllureResultsWriter {
+
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.assessment.bookstore.benchmark;
+
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AllureStepBenchmark {
+
+    private CannedClient client;
+    private CannedSource source;
+
+    @Setup
+    public void setUp() {
+        Response response = CannedResponses.ok(CannedResponses.bookJson());
+        client = new CannedClient(response);
+        source = new CannedSource(response);
+    }
+
+    @Benchmark
+    public Response unwoven() {
+        return source.getById(1);
+    }
+
+    @Benchmark
+    public Response wovenStep(AllureContext allure) {
+        Response response = client.getById(1);
+        allure.stepTaken();
+        return response;
+    }
+}
@@ -0,0 +1,29 @@
+package com.assessment.bookstore.benchmark;
+
+import com.assessment.bookstore.client.ApiClient;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiClientBenchmark {
+
+    @Benchmark
+    public RequestSpecification givenApi(AllureContext allure) {
+        RequestSpecification spec = ApiClient.givenApi();
+        allure.stepTaken();
+        return spec;
+    }
+
+    @Benchmark
+    public RequestSpecification givenApiWithPathParam(AllureContext allure) {
+        RequestSpecification spec = ApiClient.givenApi().pathParam("id", 1);
+        allure.stepTaken();
+        return spec;
+    }
+}
@@ -0,0 +1,20 @@
+package com.assessment.bookstore.benchmark;
+
+import io.restassured.response.Response;
+
+/**
+ * Matches the {@code *Client} pointcut of {@code AllureStepAspect}, so each call is wrapped in an Allure step
+ * when the benchmark JVM runs with the AspectJ weaver agent.
+ */
+public class CannedClient {
+
+    private final Response response;
+
+    CannedClient(Response response) {
+        this.response = response;
+    }
+
+    public Response getById(int id) {
+        return response;
+    }
+}
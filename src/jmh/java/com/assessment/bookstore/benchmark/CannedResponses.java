@@ -0,0 +1,71 @@
+package com.assessment.bookstore.benchmark;
+
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+import com.assessment.bookstore.util.JsonUtils;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class CannedResponses {
+
+    static final int LIST_SIZE = 200;
+
+    private CannedResponses() {
+    }
+
+    static Book book(int id) {
+        return Book.builder()
+                .id(id)
+                .title("Book " + id)
+                .description("Description of book " + id)
+                .pageCount(id * 100)
+                .excerpt("Excerpt of book " + id)
+                .publishDate("2024-01-01T00:00:00Z")
+                .build();
+    }
+
+    static Author author(int id) {
+        return Author.builder()
+                .id(id)
+                .idBook(id)
+                .firstName("First Name " + id)
+                .lastName("Last Name " + id)
+                .build();
+    }
+
+    static String bookJson() {
+        return JsonUtils.toJson(book(1));
+    }
+
+    static String authorJson() {
+        return JsonUtils.toJson(author(1));
+    }
+
+    static String booksJson() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 1; i <= LIST_SIZE; i++) {
+            books.add(book(i));
+        }
+        return JsonUtils.toJson(books);
+    }
+
+    static String authorsJson() {
+        List<Author> authors = new ArrayList<>();
+        for (int i = 1; i <= LIST_SIZE; i++) {
+            authors.add(author(i));
+        }
+        return JsonUtils.toJson(authors);
+    }
+
+    static Response ok(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setContentType("application/json; charset=utf-8")
+                .setBody(body)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.assessment.bookstore.benchmark;
+
+import io.restassured.response.Response;
+
+/**
+ * Same call as {@link CannedClient} under a name the aspect does not match; the unwoven baseline.
+ */
+public class CannedSource {
+
+    private final Response response;
+
+    CannedSource(Response response) {
+        this.response = response;
+    }
+
+    public Response getById(int id) {
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+package com.assessment.bookstore.benchmark;
+
+import com.assessment.bookstore.diff.FingerprintDiff;
+import com.assessment.bookstore.diff.Fingerprinter;
+import com.assessment.bookstore.diff.Fingerprints;
+import com.assessment.bookstore.model.Book;
+import com.assessment.bookstore.util.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FingerprintBenchmark {
+
+    @Param({"100000"})
+    public int books;
+
+    private byte[] booksJson;
+    private Fingerprints before;
+    private Fingerprints after;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Book> list = new ArrayList<>(books);
+        for (int i = 1; i <= books; i++) {
+            list.add(CannedResponses.book(i));
+        }
+        booksJson = JsonUtils.toJson(list).getBytes(StandardCharsets.UTF_8);
+        before = Fingerprinter.read(new ByteArrayInputStream(booksJson));
+
+        list.set(books / 2, list.get(books / 2).toBuilder().title("Changed").build());
+        after = Fingerprinter.read(new ByteArrayInputStream(JsonUtils.toJson(list).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public Fingerprints fingerprintBooks() throws IOException {
+        return Fingerprinter.read(new ByteArrayInputStream(booksJson));
+    }
+
+    @Benchmark
+    public FingerprintDiff.Result compareBooks() {
+        return FingerprintDiff.compare(before, after);
+    }
+}
@@ -0,0 +1,53 @@
+package com.assessment.bookstore.benchmark;
+
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+import com.assessment.bookstore.util.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonMappingBenchmark {
+
+    private Book book;
+    private Author author;
+    private String bookJson;
+    private String authorJson;
+
+    @Setup
+    public void setUp() {
+        book = CannedResponses.book(1);
+        author = CannedResponses.author(1);
+        bookJson = CannedResponses.bookJson();
+        authorJson = CannedResponses.authorJson();
+    }
+
+    @Benchmark
+    public String serializeBook() {
+        return JsonUtils.toJson(book);
+    }
+
+    @Benchmark
+    public String serializeAuthor() {
+        return JsonUtils.toJson(author);
+    }
+
+    @Benchmark
+    public Book deserializeBook() {
+        return JsonUtils.fromJson(bookJson, Book.class);
+    }
+
+    @Benchmark
+    public Author deserializeAuthor() {
+        return JsonUtils.fromJson(authorJson, Author.class);
+    }
+}
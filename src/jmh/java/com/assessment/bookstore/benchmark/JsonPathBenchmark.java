@@ -0,0 +1,44 @@
+package com.assessment.bookstore.benchmark;
+
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonPathBenchmark {
+
+    private Response book;
+    private Response books;
+
+    @Setup
+    public void setUp() {
+        book = CannedResponses.ok(CannedResponses.bookJson());
+        books = CannedResponses.ok(CannedResponses.booksJson());
+    }
+
+    @Benchmark
+    public int bookId() {
+        return book.jsonPath().getInt("id");
+    }
+
+    @Benchmark
+    public String bookTitle() {
+        return book.jsonPath().getString("title");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> booksList() {
+        return books.jsonPath().getList("$");
+    }
+}
@@ -0,0 +1,69 @@
+package com.assessment.bookstore.benchmark;
+
+import com.assessment.bookstore.data.schema.SchemaPaths;
+import com.assessment.bookstore.data.schema.SchemaRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaValidationBenchmark {
+
+    private String bookJson;
+    private String authorJson;
+    private String booksJson;
+    private String authorsJson;
+    private byte[] bookBytes;
+    private byte[] booksBytes;
+
+    @Setup
+    public void setUp() {
+        bookJson = CannedResponses.bookJson();
+        authorJson = CannedResponses.authorJson();
+        booksJson = CannedResponses.booksJson();
+        authorsJson = CannedResponses.authorsJson();
+        bookBytes = bookJson.getBytes(StandardCharsets.UTF_8);
+        booksBytes = booksJson.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public boolean book() {
+        return matchesJsonSchemaInClasspath(SchemaPaths.BOOK).matches(bookJson);
+    }
+
+    @Benchmark
+    public boolean author() {
+        return matchesJsonSchemaInClasspath(SchemaPaths.AUTHOR).matches(authorJson);
+    }
+
+    @Benchmark
+    public boolean booksList() {
+        return matchesJsonSchemaInClasspath(SchemaPaths.BOOKS_LIST).matches(booksJson);
+    }
+
+    @Benchmark
+    public boolean authorsList() {
+        return matchesJsonSchemaInClasspath(SchemaPaths.AUTHORS_LIST).matches(authorsJson);
+    }
+
+    @Benchmark
+    public boolean registryBook() {
+        return SchemaRegistry.validate(SchemaPaths.BOOK, bookBytes).valid();
+    }
+
+    @Benchmark
+    public boolean registryBooksList() {
+        return SchemaRegistry.validate(SchemaPaths.BOOKS_LIST, booksBytes).valid();
+    }
+}
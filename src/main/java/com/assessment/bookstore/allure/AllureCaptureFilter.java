@@ -0,0 +1,227 @@
+package com.assessment.bookstore.allure;
+
+import io.qameta.allure.Allure;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Attaches each exchange to the running Allure test as plain text, with bodies capped at {@code maxBodyBytes}.
+ * In {@link AttachMode#ON_FAILURE} the bodies go to a per-thread spool file and are attached by
+ * {@link #attachSpooled()} only when the test fails; {@link #resetSpool()} closes and deletes the file.
+ */
+public final class AllureCaptureFilter implements Filter {
+
+    private static final ThreadLocal<Spool> SPOOL = ThreadLocal.withInitial(Spool::new);
+
+    private final AttachMode mode;
+    private final int maxBodyBytes;
+    private final boolean gzip;
+
+    public AllureCaptureFilter(AttachMode mode, int maxBodyBytes, boolean gzip) {
+        this.mode = mode;
+        this.maxBodyBytes = maxBodyBytes;
+        this.gzip = gzip;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(request, responseSpec);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        capture(request.getMethod(), request.getURI(), request.getDerivedPath(), request.getHeaders(),
+                request.getBody(), response, millis);
+        return response;
+    }
+
+    /**
+     * Attaches, and spools, an exchange that was sent without RestAssured, as {@link #filter} does for the others.
+     */
+    public void capture(String method, String uri, String path, Headers requestHeaders, Object requestBody,
+                        Response response, long millis) {
+        String name = method + " " + path + " -> " + response.getStatusCode();
+        boolean withBodies = mode == AttachMode.ALWAYS;
+
+        attach(name, encode(render(method, uri, requestHeaders, requestBody, response, millis, withBodies)), gzip);
+
+        if (mode == AttachMode.ON_FAILURE) {
+            SPOOL.get().append(name + " (bodies)",
+                    encode(render(method, uri, requestHeaders, requestBody, response, millis, true)), gzip);
+        }
+    }
+
+    /**
+     * Wraps {@code task}, run on another thread, so that its bodies are spooled for the calling thread.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Spool spool = SPOOL.get();
+        return () -> {
+            SPOOL.set(spool);
+            try {
+                return task.get();
+            } finally {
+                SPOOL.remove();
+            }
+        };
+    }
+
+    /**
+     * Drops the bodies spooled on this thread and closes the spool file, which is deleted on close; the next spooled
+     * body opens a new one. Called before and after each test, and by every thread a test ran on.
+     */
+    public static void resetSpool() {
+        SPOOL.get().reset();
+    }
+
+    /**
+     * Attaches every body spooled on this thread since the last {@link #resetSpool()}.
+     */
+    public static void attachSpooled() {
+        Spool spool = SPOOL.get();
+        for (Spool.Entry entry : spool.entries()) {
+            attach(entry.name(), spool.read(entry), entry.gzipped());
+        }
+    }
+
+    private byte[] render(String method, String uri, Headers requestHeaders, Object requestBody, Response response,
+                          long millis, boolean withBodies) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(withBodies ? 1_024 : 256);
+        write(out, method + " " + uri + "\n");
+        for (Header h : requestHeaders) {
+            write(out, h.getName() + ": " + h.getValue() + "\n");
+        }
+        if (withBodies && requestBody != null) {
+            write(out, "\n");
+            writeBody(out, String.valueOf(requestBody).getBytes(StandardCharsets.UTF_8));
+        }
+
+        write(out, "\n" + response.getStatusLine() + " (" + millis + " ms)\n");
+        for (Header h : response.getHeaders()) {
+            write(out, h.getName() + ": " + h.getValue() + "\n");
+        }
+        if (withBodies) {
+            byte[] body = response.asByteArray();
+            if (body.length > 0) {
+                write(out, "\n");
+                writeBody(out, body);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private void writeBody(ByteArrayOutputStream out, byte[] body) {
+        if (body.length <= maxBodyBytes) {
+            out.writeBytes(body);
+            write(out, "\n");
+        } else {
+            out.write(body, 0, maxBodyBytes);
+            write(out, "\n...(" + (body.length - maxBodyBytes) + " of " + body.length + " bytes truncated)\n");
+        }
+    }
+
+    private static void write(ByteArrayOutputStream out, String s) {
+        out.writeBytes(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void attach(String name, byte[] content, boolean gzipped) {
+        if (gzipped) {
+            Allure.getLifecycle().addAttachment(name, "application/gzip", ".txt.gz", content);
+        } else {
+            Allure.getLifecycle().addAttachment(name, "text/plain", ".txt", content);
+        }
+    }
+
+    private byte[] encode(byte[] content) {
+        return gzip ? gzip(content) : content;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class Spool {
+
+        private final List<Entry> entries = new ArrayList<>();
+        private FileChannel channel;
+        private long size;
+
+        synchronized List<Entry> entries() {
+            return List.copyOf(entries);
+        }
+
+        synchronized void append(String name, byte[] content, boolean gzipped) {
+            try {
+                if (channel == null) {
+                    Path file = Files.createTempFile("allure-spool-", ".bin");
+                    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                            StandardOpenOption.DELETE_ON_CLOSE);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                long offset = size;
+                while (buffer.hasRemaining()) {
+                    size += channel.write(buffer, size);
+                }
+                entries.add(new Entry(name, offset, content.length, gzipped));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to spool Allure attachment " + name, e);
+            }
+        }
+
+        synchronized byte[] read(Entry entry) {
+            ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, entry.offset() + buffer.position()) < 0) break;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read spooled Allure attachment " + entry.name(), e);
+            }
+            return buffer.array();
+        }
+
+        synchronized void reset() {
+            entries.clear();
+            size = 0;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    channel = null;
+                }
+            }
+        }
+
+        record Entry(String name, long offset, int length, boolean gzipped) {
+        }
+    }
+}
@@ -18,6 +18,12 @@ public final class AllureEnvironment {
         props.setProperty("Environment", TestConfig.env());
         props.setProperty("Base URL", TestConfig.baseUrl());
         props.setProperty("API Prefix", TestConfig.apiPrefix());
+        if (TestConfig.envs().size() > 1) {
+            props.setProperty("Environments", String.join(",", TestConfig.envs()));
+            for (String env : TestConfig.envs()) {
+                props.setProperty("Base URL [" + env + "]", TestConfig.baseUrl(TestConfig.profile(env)));
+            }
+        }
 
         try {
             Files.createDirectories(allureResultsDir);
@@ -1,24 +1,52 @@
 package com.assessment.bookstore.allure;
 
+import com.assessment.bookstore.config.TestConfig;
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.model.Parameter;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
 import io.restassured.response.Response;
+import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Aspect
 public class AllureStepAspect {
 
-    @Around("execution(public * com.assessment.bookstore..*Client.*(..))")
+    private static final StepMode MODE = TestConfig.allureStepMode();
+    private static final double SAMPLE_RATE = TestConfig.allureStepSampleRate();
+
+    private static final String ID_PREFIX = UUID.randomUUID() + "-";
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final Map<JoinPoint.StaticPart, String> STEP_NAMES = new ConcurrentHashMap<>();
+
+    private static final LongAdder CALLS = new LongAdder();
+    private static final LongAdder STEPS = new LongAdder();
+    private static final LongAdder OVERHEAD_NANOS = new LongAdder();
+
+    // A fresh thread per task: whatever the lifecycle pushes onto its context is dropped with the thread.
+    private static final Executor DETACHED = Executors.newVirtualThreadPerTaskExecutor();
+
+    // ApiClient is the transport the clients share, not a client call of its own.
+    @Around("execution(public * com.assessment.bookstore..*Client.*(..)) && "
+            + "!within(com.assessment.bookstore.client.ApiClient)")
     public Object aroundClientCall(ProceedingJoinPoint pjp) throws Throwable {
-        return runAsAllureStep(pjp, stepName(pjp, "When"));
+        return runAsAllureStep(pjp, "When");
     }
 
     @Around(
@@ -33,47 +61,176 @@ public class AllureStepAspect {
                     "execution(public * assertions..*Assertions.*(..))"
     )
     public Object aroundAssertionCall(ProceedingJoinPoint pjp) throws Throwable {
-        return runAsAllureStep(pjp, stepName(pjp, "Verify"));
+        return runAsAllureStep(pjp, "Verify");
     }
 
-    private Object runAsAllureStep(ProceedingJoinPoint pjp, String stepName) throws Throwable {
-        MethodSignature sig = (MethodSignature) pjp.getSignature();
-        String stepId = UUID.randomUUID().toString();
+    private Object runAsAllureStep(ProceedingJoinPoint pjp, String prefix) throws Throwable {
+        if (MODE == StepMode.OFF) {
+            return pjp.proceed();
+        }
+        if (CompletableFuture.class.isAssignableFrom(((MethodSignature) pjp.getSignature()).getReturnType())) {
+            return runAsAsyncAllureStep(pjp, prefix);
+        }
 
-        StepResult step = new StepResult().setName(stepName);
+        long start = System.nanoTime();
+        long proceedNanos = 0;
+        String stepId = null;
 
-        String[] paramNames = sig.getParameterNames();
-        Object[] args = pjp.getArgs();
-        if (args != null && args.length > 0) {
-            for (int i = 0; i < args.length; i++) {
-                String name = (paramNames != null && i < paramNames.length) ? paramNames[i] : "arg" + i;
-                String value = safeArgToString(args[i]);
-                step.getParameters().add(new Parameter().setName(name).setValue(value));
+        if (MODE == StepMode.FULL || sampled()) {
+            stepId = nextStepId();
+            StepResult step = new StepResult().setName(stepName(pjp, prefix));
+            if (MODE == StepMode.FULL) {
+                addParameters(step, pjp);
             }
+            Allure.getLifecycle().startStep(stepId, step);
         }
 
-        Allure.getLifecycle().startStep(stepId, step);
-
+        long proceedStart = System.nanoTime();
         try {
             Object result = pjp.proceed();
-            Allure.getLifecycle().updateStep(stepId, s -> s.setStatus(Status.PASSED));
+            proceedNanos = System.nanoTime() - proceedStart;
+            if (stepId != null) {
+                Allure.getLifecycle().updateStep(stepId, s -> s.setStatus(Status.PASSED));
+            }
             return result;
 
         } catch (Throwable t) {
+            proceedNanos = System.nanoTime() - proceedStart;
+            if (stepId == null) {
+                stepId = nextStepId();
+                Allure.getLifecycle().startStep(stepId, new StepResult().setName(stepName(pjp, prefix)));
+            }
             Allure.getLifecycle().updateStep(stepId, s -> {
+                if (s.getParameters().isEmpty()) {
+                    addParameters(s, pjp);
+                }
                 s.setStatus(Status.FAILED);
                 s.setStatusDetails(new StatusDetails().setMessage(safeMsg(t)));
             });
             throw t;
 
         } finally {
-            Allure.getLifecycle().stopStep(stepId);
+            if (stepId != null) {
+                Allure.getLifecycle().stopStep(stepId);
+                STEPS.increment();
+            }
+            CALLS.increment();
+            OVERHEAD_NANOS.add(System.nanoTime() - start - proceedNanos);
+        }
+    }
+
+    /**
+     * A step that ends when the returned future does, not when the method returns. The lifecycle pushes a started
+     * step onto, and pops a stopped one off, the calling thread's context; both happen on a {@code DETACHED} thread so
+     * the caller's current step is left alone. The caller gets a future that completes once the step is stopped.
+     */
+    private Object runAsAsyncAllureStep(ProceedingJoinPoint pjp, String prefix) throws Throwable {
+        long start = System.nanoTime();
+        long proceedNanos = 0;
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String parentId = lifecycle.getCurrentTestCaseOrStep().orElse(null);
+        if (parentId == null) {
+            return pjp.proceed();
+        }
+
+        String stepId = null;
+        if (MODE == StepMode.FULL || sampled()) {
+            stepId = startDetached(lifecycle, parentId, pjp, prefix, MODE == StepMode.FULL);
+        }
+
+        long proceedStart = System.nanoTime();
+        CompletableFuture<?> future;
+        try {
+            future = (CompletableFuture<?>) pjp.proceed();
+        } catch (Throwable t) {
+            proceedNanos = System.nanoTime() - proceedStart;
+            String startedId = stepId;
+            CompletableFuture.runAsync(() -> finish(lifecycle, parentId, startedId, pjp, prefix, t), DETACHED).join();
+            CALLS.increment();
+            OVERHEAD_NANOS.add(System.nanoTime() - start - proceedNanos);
+            throw t;
+        }
+        proceedNanos = System.nanoTime() - proceedStart;
+        String startedId = stepId;
+        CompletableFuture<?> completed = future.whenCompleteAsync(
+                (result, t) -> finish(lifecycle, parentId, startedId, pjp, prefix, t), DETACHED);
+        CALLS.increment();
+        OVERHEAD_NANOS.add(System.nanoTime() - start - proceedNanos);
+        return completed;
+    }
+
+    private static String startDetached(AllureLifecycle lifecycle, String parentId, ProceedingJoinPoint pjp,
+                                        String prefix, boolean withParameters) {
+        String stepId = nextStepId();
+        StepResult step = new StepResult().setName(stepName(pjp, prefix));
+        if (withParameters) {
+            addParameters(step, pjp);
+        }
+        CompletableFuture.runAsync(() -> lifecycle.startStep(parentId, stepId, step), DETACHED).join();
+        return stepId;
+    }
+
+    /**
+     * Must run on a {@code DETACHED} thread. A failed call is recorded even when it was not sampled.
+     */
+    private static void finish(AllureLifecycle lifecycle, String parentId, String stepId, ProceedingJoinPoint pjp,
+                               String prefix, Throwable t) {
+        if (stepId == null && t == null) return;
+        String id = stepId != null ? stepId : nextStepId();
+        if (stepId == null) {
+            lifecycle.startStep(parentId, id, new StepResult().setName(stepName(pjp, prefix)));
+        }
+        lifecycle.updateStep(id, s -> {
+            if (t == null) {
+                s.setStatus(Status.PASSED);
+                return;
+            }
+            if (s.getParameters().isEmpty()) {
+                addParameters(s, pjp);
+            }
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            s.setStatus(Status.FAILED);
+            s.setStatusDetails(new StatusDetails().setMessage(safeMsg(cause)));
+        });
+        lifecycle.stopStep(id);
+        STEPS.increment();
+    }
+
+    public static StepOverhead overhead() {
+        return new StepOverhead(MODE, CALLS.sum(), STEPS.sum(), OVERHEAD_NANOS.sum());
+    }
+
+    private static boolean sampled() {
+        return SAMPLE_RATE >= 1.0 || ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE;
+    }
+
+    private static String nextStepId() {
+        return ID_PREFIX + Long.toString(SEQUENCE.incrementAndGet(), 36);
+    }
+
+    private static void addParameters(StepResult step, ProceedingJoinPoint pjp) {
+        Object[] args = pjp.getArgs();
+        if (args == null || args.length == 0) return;
+
+        String[] paramNames = ((MethodSignature) pjp.getSignature()).getParameterNames();
+        for (int i = 0; i < args.length; i++) {
+            String name = (paramNames != null && i < paramNames.length) ? paramNames[i] : "arg" + i;
+            step.getParameters().add(new Parameter().setName(name).setValue(safeArgToString(args[i])));
         }
     }
 
     private static String stepName(ProceedingJoinPoint pjp, String prefix) {
-        MethodSignature sig = (MethodSignature) pjp.getSignature();
-        return prefix + ": " + sig.getDeclaringType().getSimpleName() + "." + sig.getName();
+        return STEP_NAMES.computeIfAbsent(pjp.getStaticPart(), sp -> {
+            MethodSignature sig = (MethodSignature) sp.getSignature();
+            return prefix + ": " + sig.getDeclaringType().getSimpleName() + "." + sig.getName();
+        });
+    }
+
+    public record StepOverhead(StepMode mode, long calls, long steps, long overheadNanos) {
+
+        public double meanOverheadMicros() {
+            return calls == 0 ? 0 : overheadNanos / 1_000.0 / calls;
+        }
     }
 
 
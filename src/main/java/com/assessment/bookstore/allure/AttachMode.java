@@ -0,0 +1,13 @@
+package com.assessment.bookstore.allure;
+
+/**
+ * When {@link AllureCaptureFilter} attaches request and response bodies.
+ */
+public enum AttachMode {
+    /** Bodies are attached with every exchange. */
+    ALWAYS,
+    /** Exchanges are attached without bodies; bodies are spooled to disk and attached only if the test fails. */
+    ON_FAILURE,
+    /** Exchanges are attached without bodies (request line, status line and headers); nothing is spooled. */
+    NEVER
+}
@@ -0,0 +1,113 @@
+package com.assessment.bookstore.allure;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The on-disk format of archived Allure results. A fork appends every result, container and attachment to one
+ * {@code <name>.data} file, stored as is or gzip-compressed, and one line per entry to {@code <name>.index}:
+ * {@code offset<TAB>length<TAB>gzip<TAB>file name}. The data is flushed before its index lines, so an index never
+ * points past the data; entries of a batch the fork died in are lost, the rest of the archive stays readable.
+ */
+public final class ResultsArchive {
+
+    static final String DATA_SUFFIX = ".data";
+    static final String INDEX_SUFFIX = ".index";
+
+    private ResultsArchive() {
+    }
+
+    record Entry(long offset, int length, boolean gzip, String name) {
+
+        String line() {
+            return offset + "\t" + length + "\t" + (gzip ? 1 : 0) + "\t" + name + "\n";
+        }
+
+        static Entry parse(String line) {
+            String[] parts = line.split("\t", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed archive index line: " + line);
+            }
+            return new Entry(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), "1".equals(parts[2]), parts[3]);
+        }
+    }
+
+    /**
+     * A name no other fork, nor an earlier run of this one, can have picked.
+     */
+    static String newName() {
+        return "results-" + ProcessHandle.current().pid() + "-" + System.currentTimeMillis();
+    }
+
+    /**
+     * Writes every entry archived under {@code archiveDir} into {@code resultsDir} as the file Allure's own writer would
+     * have created, overwriting earlier expansions.
+     *
+     * @return the number of files written
+     */
+    public static int expand(Path archiveDir, Path resultsDir) throws IOException {
+        if (!Files.isDirectory(archiveDir)) return 0;
+        Files.createDirectories(resultsDir);
+        int files = 0;
+        for (Path index : indexes(archiveDir)) {
+            String base = index.getFileName().toString();
+            Path data = index.resolveSibling(base.substring(0, base.length() - INDEX_SUFFIX.length()) + DATA_SUFFIX);
+            try (BufferedReader lines = Files.newBufferedReader(index, StandardCharsets.UTF_8);
+                 FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    if (line.isEmpty()) continue;
+                    Entry entry = Entry.parse(line);
+                    Files.write(target(resultsDir, entry.name()), read(channel, entry));
+                    files++;
+                }
+            }
+        }
+        return files;
+    }
+
+    private static List<Path> indexes(Path archiveDir) throws IOException {
+        List<Path> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(archiveDir, "*" + INDEX_SUFFIX)) {
+            stream.forEach(indexes::add);
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    private static byte[] read(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+        long position = entry.offset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Archive entry " + entry.name() + " runs past the end of its data file");
+            }
+            position += read;
+        }
+        if (!entry.gzip()) return buffer.array();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(buffer.array()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Path target(Path resultsDir, String name) throws IOException {
+        Path target = resultsDir.resolve(name).normalize();
+        if (!resultsDir.normalize().equals(target.getParent())) {
+            throw new IOException("Archive entry name escapes the results directory: " + name);
+        }
+        return target;
+    }
+}
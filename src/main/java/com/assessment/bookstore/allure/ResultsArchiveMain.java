@@ -0,0 +1,26 @@
+package com.assessment.bookstore.allure;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Expands the archives written with {@code ALLURE_RESULTS_SINK=ARCHIVE} into {@code build/allure-results}, where
+ * {@code allureReport} and {@code allureServe} read them.
+ */
+public final class ResultsArchiveMain {
+
+    private ResultsArchiveMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path build = Paths.get(System.getProperty("user.dir"), "build");
+        Path archiveDir = build.resolve("allure-archive");
+        Path resultsDir = build.resolve("allure-results");
+        long start = System.nanoTime();
+        int files = ResultsArchive.expand(archiveDir, resultsDir);
+        if (files > 0) {
+            System.out.printf("Allure archive: expanded %d files from %s into %s in %d ms%n",
+                    files, archiveDir, resultsDir, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.assessment.bookstore.allure;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.internal.Allure2ModelJackson;
+import io.qameta.allure.internal.shadowed.jackson.databind.ObjectMapper;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An {@link AllureResultsWriter} that appends to one {@link ResultsArchive} instead of creating a file per result,
+ * container and attachment. Test threads only serialize the result and queue it; a single flusher thread
+ * compresses and appends the queued entries in batches. A full queue blocks the test thread rather than growing.
+ */
+public final class ResultsArchiveWriter implements AllureResultsWriter, Closeable {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final int MAX_BATCH = 512;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final Pending END = new Pending("", new byte[0]);
+
+    // The mapper FileSystemResultsWriter uses, so an expanded result is the file Allure would have written.
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final boolean gzip;
+    private final Path dataFile;
+    private final OutputStream data;
+    private final Writer index;
+    private final Thread flusher;
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private long position;
+    private long entries;
+    private long rawBytes;
+
+    public ResultsArchiveWriter(Path archiveDir, boolean gzip) throws IOException {
+        Files.createDirectories(archiveDir);
+        String name = ResultsArchive.newName();
+        this.gzip = gzip;
+        this.dataFile = archiveDir.resolve(name + ResultsArchive.DATA_SUFFIX);
+        this.data = new BufferedOutputStream(
+                Files.newOutputStream(dataFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), BUFFER_BYTES);
+        this.index = Files.newBufferedWriter(archiveDir.resolve(name + ResultsArchive.INDEX_SUFFIX),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.flusher = Thread.ofPlatform().name("allure-archive").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void write(TestResult result) {
+        String uuid = Objects.requireNonNullElseGet(result.getUuid(), () -> UUID.randomUUID().toString());
+        enqueue(uuid + "-result.json", () -> mapper.writeValueAsBytes(result), "Could not write Allure test result");
+    }
+
+    @Override
+    public void write(TestResultContainer container) {
+        String uuid = Objects.requireNonNullElseGet(container.getUuid(), () -> UUID.randomUUID().toString());
+        enqueue(uuid + "-container.json", () -> mapper.writeValueAsBytes(container),
+                "Could not write Allure test result container");
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        enqueue(source, () -> {
+            try (InputStream in = attachment) {
+                return in.readAllBytes();
+            }
+        }, "Could not write Allure attachment " + source);
+    }
+
+    /**
+     * Waits until everything queued so far is on disk, then closes the archive. Later writes fail.
+     *
+     * @throws UncheckedIOException when an append failed; the archive holds the entries before it
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                queue.put(END);
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Failed to append to Allure results archive " + dataFile, failure);
+        }
+    }
+
+    public Path dataFile() {
+        return dataFile;
+    }
+
+    /** Entries appended so far; read after {@link #close()} for a final count. */
+    public long entries() {
+        return entries;
+    }
+
+    /** Uncompressed size of the entries appended so far. */
+    public long rawBytes() {
+        return rawBytes;
+    }
+
+    /** Size of the data file so far. */
+    public long storedBytes() {
+        return position;
+    }
+
+    private void enqueue(String name, Content content, String error) {
+        if (closed) {
+            throw new AllureResultsWriteException(error, new IOException("Allure results archive is closed"));
+        }
+        if (failure != null) {
+            throw new AllureResultsWriteException(error, failure);
+        }
+        try {
+            queue.put(new Pending(name, content.bytes()));
+        } catch (IOException e) {
+            throw new AllureResultsWriteException(error, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AllureResultsWriteException(error, new IOException("Interrupted while queueing", e));
+        }
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        boolean end = false;
+        while (!end) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            end = batch.getLast() == END;
+            if (end) batch.removeLast();
+            if (failure == null) {
+                try {
+                    append(batch);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            batch.clear();
+        }
+        try {
+            data.close();
+            index.close();
+        } catch (IOException e) {
+            if (failure == null) failure = e;
+        }
+    }
+
+    private void append(List<Pending> batch) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Pending pending : batch) {
+            // Attachments written with ALLURE_ATTACH_GZIP are already compressed.
+            boolean compress = gzip && !pending.name().endsWith(".gz");
+            byte[] stored = compress ? gzip(pending.bytes()) : pending.bytes();
+            data.write(stored);
+            lines.append(new ResultsArchive.Entry(position, stored.length, compress, pending.name()).line());
+            position += stored.length;
+            rawBytes += pending.bytes().length;
+            entries++;
+        }
+        data.flush();
+        index.write(lines.toString());
+        index.flush();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Content {
+        byte[] bytes() throws IOException;
+    }
+
+    private record Pending(String name, byte[] bytes) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.assessment.bookstore.allure;
+
+/**
+ * Where a test JVM writes its Allure results.
+ */
+public enum ResultsSink {
+    /** One file per result, container and attachment in {@code build/allure-results} (Allure's default). */
+    DIRECTORY,
+    /** One append-only {@link ResultsArchive} per fork in {@code build/allure-archive}, expanded before reporting. */
+    ARCHIVE
+}
@@ -0,0 +1,13 @@
+package com.assessment.bookstore.allure;
+
+/**
+ * How {@link AllureStepAspect} records woven client and assertion calls.
+ */
+public enum StepMode {
+    /** Every call becomes a step with rendered parameters. */
+    FULL,
+    /** Calls are sampled at {@code ALLURE_STEP_SAMPLE_RATE}; parameters are rendered only for failed steps. */
+    LIGHT,
+    /** No steps are recorded. */
+    OFF
+}
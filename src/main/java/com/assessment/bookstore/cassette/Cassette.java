@@ -0,0 +1,303 @@
+package com.assessment.bookstore.cassette;
+
+import com.assessment.bookstore.config.TestConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Indexed file of recorded API exchanges keyed by method, path and request body hash.
+ * <p>
+ * Entries are appended while recording and the index is written when the cassette is closed (at the latest by a
+ * shutdown hook). Replay maps the file read-only and decodes responses straight from the mapping. A key that was
+ * recorded several times is replayed in recording order; once its recordings run out the last one is served again.
+ * A key that was never recorded fails fast with the closest recorded request for comparison.
+ */
+public final class Cassette {
+
+    private static final int MAGIC = 0x424B4331; // "BKC1"
+    private static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static volatile Cassette shared;
+
+    private final CassetteMode mode;
+    private final Path file;
+
+    private DataOutputStream out;
+    private final List<IndexEntry> recorded = new ArrayList<>();
+
+    private MappedByteBuffer mapped;
+    private final Map<String, List<IndexEntry>> index = new LinkedHashMap<>();
+    private final Map<String, AtomicInteger> occurrences = new ConcurrentHashMap<>();
+
+    private Cassette(CassetteMode mode, Path file) {
+        this.mode = mode;
+        this.file = file;
+    }
+
+    public static Cassette record(Path file) {
+        Cassette cassette = new Cassette(CassetteMode.RECORD, file);
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            cassette.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            cassette.out.writeInt(MAGIC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create cassette " + file, e);
+        }
+        return cassette;
+    }
+
+    public static Cassette replay(Path file) {
+        Cassette cassette = new Cassette(CassetteMode.REPLAY, file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            cassette.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open cassette " + file, e);
+        }
+        cassette.readIndex();
+        return cassette;
+    }
+
+    /**
+     * The cassette configured by {@code HTTP_CASSETTE_MODE} / {@code HTTP_CASSETTE_PATH}, or {@code null} when off.
+     */
+    public static Cassette shared() {
+        CassetteMode mode = TestConfig.cassetteMode();
+        if (mode == CassetteMode.OFF) return null;
+
+        Cassette c = shared;
+        if (c == null) {
+            synchronized (Cassette.class) {
+                c = shared;
+                if (c == null) {
+                    Path file = Paths.get(TestConfig.cassettePath()).toAbsolutePath();
+                    c = mode == CassetteMode.RECORD ? record(file) : replay(file);
+                    if (mode == CassetteMode.RECORD) {
+                        Runtime.getRuntime().addShutdownHook(new Thread(c::close, "cassette-close"));
+                    }
+                    shared = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    public CassetteMode mode() {
+        return mode;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public synchronized void record(String method, String path, String requestBody, Response response) {
+        if (out == null) throw new IllegalStateException("Cassette " + file + " is closed");
+        try {
+            long offset = out.size();
+            writeString(method);
+            writeString(path);
+            writeString(requestBody);
+            out.writeInt(response.getStatusCode());
+            writeString(response.getStatusLine());
+            writeString(response.getContentType());
+            List<Header> headers = response.getHeaders().asList();
+            out.writeInt(headers.size());
+            for (Header h : headers) {
+                writeString(h.getName());
+                writeString(h.getValue());
+            }
+            byte[] body = response.asByteArray();
+            out.writeInt(body.length);
+            out.write(body);
+            recorded.add(new IndexEntry(key(method, path, requestBody), offset));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record to cassette " + file, e);
+        }
+    }
+
+    public Response replay(String method, String path, String requestBody) {
+        String key = key(method, path, requestBody);
+        List<IndexEntry> entries = index.get(key);
+        if (entries == null) {
+            throw new IllegalStateException(missMessage(method, path, requestBody));
+        }
+        int n = occurrences.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return readResponse(entries.get(Math.min(n, entries.size() - 1)).offset());
+    }
+
+    public synchronized void close() {
+        if (out == null) return;
+        try {
+            long indexOffset = out.size();
+            out.writeInt(recorded.size());
+            for (IndexEntry entry : recorded) {
+                writeString(entry.key());
+                out.writeLong(entry.offset());
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close cassette " + file, e);
+        } finally {
+            out = null;
+        }
+    }
+
+    static String key(String method, String path, String requestBody) {
+        return method + ' ' + path + ' ' + (requestBody == null ? "-" : hash(requestBody));
+    }
+
+    private static String hash(String body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void readIndex() {
+        ByteBuffer buf = mapped.duplicate();
+        if (buf.limit() < Integer.BYTES + FOOTER_BYTES || buf.getInt(0) != MAGIC
+                || buf.getInt(buf.limit() - Integer.BYTES) != MAGIC) {
+            throw new IllegalStateException("Not a complete cassette file: " + file);
+        }
+        buf.position((int) buf.getLong(buf.limit() - FOOTER_BYTES));
+        int count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            String key = readString(buf);
+            long offset = buf.getLong();
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(new IndexEntry(key, offset));
+        }
+    }
+
+    private Response readResponse(long offset) {
+        ByteBuffer buf = mapped.duplicate().position((int) offset);
+        readString(buf);
+        readString(buf);
+        readString(buf);
+        int status = buf.getInt();
+        String statusLine = readString(buf);
+        String contentType = readString(buf);
+        List<Header> headers = new ArrayList<>();
+        for (int i = buf.getInt(); i > 0; i--) {
+            headers.add(new Header(readString(buf), readString(buf)));
+        }
+        byte[] body = new byte[buf.getInt()];
+        buf.get(body);
+
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(status)
+                .setStatusLine(statusLine)
+                .setHeaders(new Headers(headers))
+                .setBody(body);
+        if (contentType != null && !contentType.isEmpty()) builder.setContentType(contentType);
+        return builder.build();
+    }
+
+    private String missMessage(String method, String path, String requestBody) {
+        StringBuilder sb = new StringBuilder("No recorded exchange in ").append(file).append(" for\n  ")
+                .append(method).append(' ').append(path);
+        if (requestBody != null) sb.append("\n  body: ").append(requestBody);
+
+        IndexEntry closest = closest(method, path);
+        if (closest == null) {
+            return sb.append("\nNothing was recorded for ").append(method).append(' ').append(path).toString();
+        }
+        ByteBuffer buf = mapped.duplicate().position((int) closest.offset());
+        String recordedMethod = readString(buf);
+        String recordedPath = readString(buf);
+        String recordedBody = readString(buf);
+        sb.append("\nClosest recorded request:\n  ").append(recordedMethod).append(' ').append(recordedPath);
+        if (recordedBody != null) sb.append("\n  body: ").append(recordedBody);
+        if (recordedPath.equals(path) && recordedBody != null && requestBody != null) {
+            int at = firstDifference(recordedBody, requestBody);
+            sb.append("\nBodies differ at offset ").append(at).append(":\n  recorded: ").append(around(recordedBody, at))
+                    .append("\n  actual:   ").append(around(requestBody, at));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The recorded request with the same method and path, or else the same method and the longest common path prefix.
+     */
+    private IndexEntry closest(String method, String path) {
+        IndexEntry best = null;
+        int bestScore = -1;
+        for (List<IndexEntry> entries : index.values()) {
+            IndexEntry entry = entries.get(0);
+            String key = entry.key();
+            if (!key.startsWith(method + ' ')) continue;
+            String recordedPath = key.substring(method.length() + 1, key.lastIndexOf(' '));
+            int score = recordedPath.equals(path) ? Integer.MAX_VALUE : firstDifference(recordedPath, path);
+            if (score > bestScore) {
+                best = entry;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static int firstDifference(String a, String b) {
+        int n = Math.min(a.length(), b.length());
+        for (int i = 0; i < n; i++) {
+            if (a.charAt(i) != b.charAt(i)) return i;
+        }
+        return n;
+    }
+
+    private static String around(String s, int at) {
+        int from = Math.max(0, at - 30);
+        int to = Math.min(s.length(), at + 30);
+        return (from > 0 ? "..." : "") + s.substring(from, to) + (to < s.length() ? "..." : "");
+    }
+
+    private void writeString(String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record IndexEntry(String key, long offset) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.assessment.bookstore.cassette;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records exchanges to, or replays them from, the shared {@link Cassette}. Added last so the reporting filters
+ * still see replayed responses.
+ */
+public final class CassetteFilter implements Filter {
+
+    private final Cassette cassette;
+
+    public CassetteFilter(Cassette cassette) {
+        this.cassette = cassette;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String path = pathAndQuery(URI.create(request.getURI()));
+        Object body = request.getBody();
+        String requestBody = body == null ? null : body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString();
+
+        if (cassette.mode() == CassetteMode.REPLAY) {
+            return cassette.replay(request.getMethod(), path, requestBody);
+        }
+        Response response = ctx.next(request, responseSpec);
+        cassette.record(request.getMethod(), path, requestBody, response);
+        return response;
+    }
+
+    public static String pathAndQuery(URI uri) {
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+}
@@ -0,0 +1,13 @@
+package com.assessment.bookstore.cassette;
+
+/**
+ * Whether API exchanges go over the network, are recorded to a {@link Cassette}, or are served from one.
+ */
+public enum CassetteMode {
+    /** Requests go to the server; nothing is recorded. */
+    OFF,
+    /** Requests go to the server and every exchange is appended to the cassette file. */
+    RECORD,
+    /** Responses are served from the cassette file; nothing is sent. */
+    REPLAY
+}
@@ -1,49 +1,214 @@
 package com.assessment.bookstore.client;
 
+import com.assessment.bookstore.allure.AllureCaptureFilter;
+import com.assessment.bookstore.cassette.Cassette;
+import com.assessment.bookstore.cassette.CassetteFilter;
+import com.assessment.bookstore.config.AppConfig;
 import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.logging.ExchangeRecorder;
+import com.assessment.bookstore.logging.HttpLogMode;
+import com.assessment.bookstore.util.StartupTimings;
 import com.github.dzieciou.testing.curl.CurlRestAssuredConfigFactory;
 import com.github.dzieciou.testing.curl.Options;
-import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.config.HttpClientConfig;
 import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import org.slf4j.event.Level;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 public final class ApiClient {
 
-    private static final Options CURL_OPTIONS = Options.builder()
-            .useLogLevel(Level.DEBUG)
-            .printMultiliner()
-            .build();
+    private static final long INIT_START = System.nanoTime();
 
     private static final RestAssuredConfig BASE_CONFIG =
-            RestAssuredConfig.config().httpClient(
-                    HttpClientConfig.httpClientConfig()
-                            .setParam("http.connection.timeout", TestConfig.connectTimeoutMs())
-                            .setParam("http.socket.timeout", TestConfig.socketTimeoutMs())
-            );
-
-    private static final RestAssuredConfig CURL_CONFIG =
-            CurlRestAssuredConfigFactory.updateConfig(BASE_CONFIG, CURL_OPTIONS);
-
-    private static final RequestSpecification BASE_SPEC =
-            new RequestSpecBuilder()
-                    .setBaseUri(TestConfig.baseUrl())
-                    .setBasePath(TestConfig.apiPrefix())
-                    .setContentType(ContentType.JSON)
-                    .setAccept(ContentType.JSON)
-                    .setConfig(CURL_CONFIG)
-                    .addFilter(new AllureRestAssured())
-                    .build();
+            httpConfig(TestConfig.connectTimeoutMs(), TestConfig.socketTimeoutMs(), ConnectionPool::shared);
+
+    private static final HttpLogMode LOG_MODE =
+            TestConfig.reportingEnabled() ? TestConfig.httpLogMode() : HttpLogMode.OFF;
+
+    private static final AllureCaptureFilter CAPTURE = TestConfig.reportingEnabled()
+            ? new AllureCaptureFilter(TestConfig.allureAttachBodies(), TestConfig.allureAttachMaxBytes(),
+                    TestConfig.allureAttachGzip())
+            : null;
+
+    private static final ExchangeRecorder RECORDER = LOG_MODE == HttpLogMode.ON_FAILURE ? new ExchangeRecorder() : null;
+
+    private static final Target BASE = baseTarget();
+
+    private static final ThreadLocal<String> ENV = new ThreadLocal<>();
+    private static final Map<String, Target> TARGETS = new ConcurrentHashMap<>();
 
     private ApiClient() {}
 
+    /**
+     * The curl logger pulls in its own factory and Groovy-heavy RestAssured config; only {@code ALWAYS} needs it.
+     */
+    private static final class Curl {
+        static final Options OPTIONS = Options.builder()
+                .useLogLevel(Level.DEBUG)
+                .printMultiliner()
+                .build();
+
+        static final RestAssuredConfig CONFIG = reused(CurlRestAssuredConfigFactory.updateConfig(BASE_CONFIG, OPTIONS));
+    }
+
+    /**
+     * A spec, its full base URI, its resilience filter and, outside {@code ENV}, the connection pool of one
+     * environment.
+     */
+    private record Target(RequestSpecification spec, String baseUri, ConnectionPool pool, ResilienceFilter resilience) {
+    }
+
+    private static RestAssuredConfig httpConfig(int connectTimeoutMs, int socketTimeoutMs,
+                                                Supplier<ConnectionPool> pool) {
+        return RestAssuredConfig.config().httpClient(
+                HttpClientConfig.httpClientConfig()
+                        .setParam("http.connection.timeout", connectTimeoutMs)
+                        .setParam("http.socket.timeout", socketTimeoutMs)
+                        .httpClientFactory(() -> pool.get().newHttpClient())
+                        .reuseHttpClientInstance()
+        );
+    }
+
+    private static Target baseTarget() {
+        List<Filter> attemptFilters = new ArrayList<>();
+        if (TestConfig.cacheEnabled()) {
+            attemptFilters.add(ResponseCache.shared());
+        }
+        Cassette cassette = Cassette.shared();
+        if (cassette != null) {
+            attemptFilters.add(new CassetteFilter(cassette));
+        }
+        ResilienceFilter resilience = new ResilienceFilter(TestConfig.profile(TestConfig.env()), attemptFilters);
+        RequestSpecification spec = baseSpec(TestConfig.baseUrl(), TestConfig.apiPrefix(),
+                LOG_MODE == HttpLogMode.ALWAYS ? Curl.CONFIG : BASE_CONFIG, resilience, attemptFilters);
+        StartupTimings.record("apiClient", INIT_START);
+        return new Target(spec, TestConfig.baseUrl() + TestConfig.apiPrefix(), null, resilience);
+    }
+
+    /**
+     * Another environment selected with {@code ENVS}: its own base URL, timeouts, pool, retry settings and cache.
+     * Cassettes record and replay {@code ENV} only.
+     */
+    private static Target target(String env) {
+        AppConfig profile = TestConfig.profile(env);
+        ConnectionPool pool = new ConnectionPool(profile.poolMaxTotal(), profile.poolMaxPerRoute(),
+                profile.poolIdleEvictMs(), profile.keepAliveMs(), profile.tlsSessionCacheSize(),
+                profile.tlsSessionTimeoutSec());
+        RestAssuredConfig config = httpConfig(profile.connectTimeoutMs(), profile.socketTimeoutMs(), () -> pool);
+        if (LOG_MODE == HttpLogMode.ALWAYS) {
+            config = reused(CurlRestAssuredConfigFactory.updateConfig(config, Curl.OPTIONS));
+        }
+
+        List<Filter> attemptFilters = new ArrayList<>();
+        if (profile.cacheEnabled()) {
+            attemptFilters.add(new ResponseCache(profile.cacheTtlMs(),
+                    ResponseCache.parseTtls(profile.cacheEndpointTtls()), profile.cacheMaxEntries()));
+        }
+        String baseUrl = TestConfig.baseUrl(profile);
+        String apiPrefix = TestConfig.apiPrefix(profile);
+        ResilienceFilter resilience = new ResilienceFilter(profile, attemptFilters);
+        return new Target(baseSpec(baseUrl, apiPrefix, config, resilience, attemptFilters), baseUrl + apiPrefix, pool,
+                resilience);
+    }
+
+    private static RequestSpecification baseSpec(String baseUrl, String apiPrefix, RestAssuredConfig config,
+                                                 ResilienceFilter resilience, List<Filter> attemptFilters) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setBasePath(apiPrefix)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON);
+
+        builder.setConfig(config);
+        if (CAPTURE != null) {
+            builder.addFilter(CAPTURE);
+        }
+        if (RECORDER != null) {
+            builder.addFilter(RECORDER);
+        }
+
+        builder.addFilter(new TimingFilter());
+        builder.addFilter(resilience);
+        builder.addFilters(attemptFilters);
+        return builder.build();
+    }
+
+    private static RestAssuredConfig reused(RestAssuredConfig config) {
+        return config.httpClient(config.getHttpClientConfig().reuseHttpClientInstance());
+    }
+
     public static RequestSpecification givenApi() {
-        return RestAssured.given()
-                .spec(BASE_SPEC)
-                .log().ifValidationFails();
+        RequestSpecification spec = RestAssured.given().spec(target().spec());
+        return LOG_MODE == HttpLogMode.ALWAYS ? spec.log().ifValidationFails() : spec;
+    }
+
+    /**
+     * Sends this thread's requests to {@code env} until called again; {@code null} or {@code ENV} restores the
+     * default.
+     */
+    public static void useEnv(String env) {
+        if (env == null || env.equals(TestConfig.env())) {
+            ENV.remove();
+        } else {
+            ENV.set(env);
+        }
+    }
+
+    /**
+     * The environment this thread's requests go to.
+     */
+    public static String env() {
+        String env = ENV.get();
+        return env != null ? env : TestConfig.env();
+    }
+
+    /**
+     * Connection pools of the environments other than {@code ENV} used so far, by environment.
+     */
+    public static Map<String, ConnectionPool> envPools() {
+        Map<String, ConnectionPool> pools = new TreeMap<>();
+        TARGETS.forEach((env, target) -> pools.put(env, target.pool()));
+        return pools;
+    }
+
+    static String baseUri() {
+        return target().baseUri();
+    }
+
+    /**
+     * The resilience filter of the environment bound to this thread, whose breakers {@link AsyncApiClient} shares.
+     */
+    static ResilienceFilter resilience() {
+        return target().resilience();
+    }
+
+    /**
+     * The Allure capture every spec starts with, or {@code null} when reporting is off.
+     */
+    static AllureCaptureFilter capture() {
+        return CAPTURE;
+    }
+
+    /**
+     * The failure log every spec starts with, or {@code null} unless {@code HTTP_LOG_MODE} is {@code ON_FAILURE}.
+     */
+    static ExchangeRecorder recorder() {
+        return RECORDER;
+    }
+
+    private static Target target() {
+        String env = ENV.get();
+        return env == null ? BASE : TARGETS.computeIfAbsent(env, ApiClient::target);
     }
 }
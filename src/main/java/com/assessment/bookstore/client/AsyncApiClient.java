@@ -0,0 +1,184 @@
+package com.assessment.bookstore.client;
+
+import com.assessment.bookstore.allure.AllureCaptureFilter;
+import com.assessment.bookstore.cassette.Cassette;
+import com.assessment.bookstore.cassette.CassetteFilter;
+import com.assessment.bookstore.cassette.CassetteMode;
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.logging.ExchangeRecorder;
+import com.assessment.bookstore.util.JsonUtils;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking requests over the JDK {@link HttpClient}, which uses HTTP/2 when the server offers it. No thread waits
+ * while a request is in flight: {@link ResilienceFilter#sendAsync} schedules retries, backoffs and hedges with the
+ * breakers of the synchronous clients, and the timings go to {@link TimingFilter}. Cassettes record and replay these
+ * requests too; the {@link ResponseCache} and the curl log of {@code HTTP_LOG_MODE=ALWAYS} are RestAssured-only.
+ */
+public final class AsyncApiClient {
+
+    private static final String JSON = "application/json";
+    private static final Headers REQUEST_HEADERS =
+            new Headers(new Header("Content-Type", JSON), new Header("Accept", JSON));
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(TestConfig.connectTimeoutMs()))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private AsyncApiClient() {}
+
+    /**
+     * Sends the request to the environment bound to this thread, on this thread's latency budget. The Allure
+     * attachment, retry and hedge steps and the failure-log entry are written once the call completes, on a thread
+     * created here so that they land in the caller's test; the returned future completes after them.
+     */
+    static CompletableFuture<Response> send(String method, String path, Object body) {
+        String env = ApiClient.env();
+        String uri = ApiClient.baseUri() + path;
+        String json = body == null ? null : JsonUtils.toJson(body);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofMillis(TestConfig.profile(env).socketTimeoutMs()))
+                .header("Content-Type", JSON)
+                .header("Accept", JSON)
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        Cassette cassette = env.equals(TestConfig.env()) ? Cassette.shared() : null;
+
+        Queue<Runnable> steps = new ConcurrentLinkedQueue<>();
+        Report report = new Report();
+        Thread reporter = ApiClient.capture() == null && ApiClient.recorder() == null ? null
+                : Thread.ofVirtual().name("async-report").unstarted(
+                        report.writer(method, uri, path, json, steps)::get);
+
+        long start = System.nanoTime();
+        return ApiClient.resilience().sendAsync(method, path, () -> attempt(request, cassette, json), steps)
+                .handle((response, error) -> {
+                    long nanos = System.nanoTime() - start;
+                    if (response != null) {
+                        TimingFilter.record(env, method, path, nanos);
+                        TimingFilter.recordLatencyOf(response, nanos);
+                    }
+                    report.complete(response, error, nanos / 1_000_000);
+                    if (reporter == null) return report.outcome();
+                    reporter.start();
+                    return report.written.thenCompose(ignored -> report.outcome());
+                })
+                .thenCompose(outcome -> outcome);
+    }
+
+    /**
+     * One attempt: replayed from or recorded to the cassette, if there is one, otherwise just sent.
+     */
+    private static CompletableFuture<Response> attempt(HttpRequest request, Cassette cassette, String json) {
+        String path = cassette == null ? null : CassetteFilter.pathAndQuery(request.uri());
+        if (cassette != null && cassette.mode() == CassetteMode.REPLAY) {
+            try {
+                return CompletableFuture.completedFuture(cassette.replay(request.method(), path, json));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<Response> sent = HTTP.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(AsyncApiClient::toResponse);
+        return cassette == null ? sent : sent.thenApply(response -> {
+            cassette.record(request.method(), path, json, response);
+            return response;
+        });
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> response) {
+        List<Header> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) ->
+                values.forEach(value -> headers.add(new Header(name, value))));
+
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine((response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1") + " "
+                        + response.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(response.body());
+        response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+
+    /**
+     * The outcome of one call and the reporting that has to happen before it is handed to the caller.
+     */
+    private static final class Report {
+
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+        private Response response;
+        private Throwable error;
+        private long millis;
+
+        void complete(Response response, Throwable error, long millis) {
+            this.response = response;
+            this.error = error;
+            this.millis = millis;
+        }
+
+        /**
+         * Writes the report; bound here to the calling thread's failure log and capture spool.
+         */
+        Supplier<Void> writer(String method, String uri, String path, String json, Queue<Runnable> steps) {
+            return ExchangeRecorder.propagate(AllureCaptureFilter.propagate(() -> {
+                try {
+                    steps.forEach(Runnable::run);
+                    if (ApiClient.recorder() != null) {
+                        ApiClient.recorder().record(method, uri, REQUEST_HEADERS, json, response, millis);
+                    }
+                    if (ApiClient.capture() != null && response != null) {
+                        ApiClient.capture().capture(method, uri, path, REQUEST_HEADERS, json, response, millis);
+                    }
+                    written.complete(null);
+                } catch (Throwable t) {
+                    written.completeExceptionally(t);
+                }
+                return null;
+            }));
+        }
+
+        CompletableFuture<Response> outcome() {
+            return error != null ? CompletableFuture.failedFuture(error) : CompletableFuture.completedFuture(response);
+        }
+    }
+
+    /**
+     * GETs {@code path} from the environment bound to this thread and hands the body over unbuffered, for list
+     * responses too large to hold in memory.
+     */
+    public static InputStream stream(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(ApiClient.baseUri() + path))
+                .timeout(Duration.ofMillis(TestConfig.profile(ApiClient.env()).socketTimeoutMs()))
+                .header("Accept", JSON)
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = HTTP.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("GET " + request.uri() + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,48 @@
+package com.assessment.bookstore.client;
+
+import com.assessment.bookstore.model.Author;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncAuthorsClient {
+
+    private static final String AUTHORS = "/Authors";
+    private static final String AUTHORS_BY_BOOK = AUTHORS + "/authors/books/";
+
+    public CompletableFuture<Response> getAll() {
+        return AsyncApiClient.send("GET", AUTHORS, null);
+    }
+
+    public CompletableFuture<Response> getById(int id) {
+        return AsyncApiClient.send("GET", AUTHORS + "/" + id, null);
+    }
+
+    public CompletableFuture<Response> getByBookId(int idBook) {
+        return AsyncApiClient.send("GET", AUTHORS_BY_BOOK + idBook, null);
+    }
+
+    public CompletableFuture<Response> create(Author author) {
+        return AsyncApiClient.send("POST", AUTHORS, author);
+    }
+
+    public CompletableFuture<Response> update(int id, Author author) {
+        return AsyncApiClient.send("PUT", AUTHORS + "/" + id, author);
+    }
+
+    /**
+     * Sends {@code body} as is, for payloads a {@link Author} cannot express: missing fields, nulls or wrong types.
+     */
+    public CompletableFuture<Response> create(JsonNode body) {
+        return AsyncApiClient.send("POST", AUTHORS, body);
+    }
+
+    public CompletableFuture<Response> update(int id, JsonNode body) {
+        return AsyncApiClient.send("PUT", AUTHORS + "/" + id, body);
+    }
+
+    public CompletableFuture<Response> delete(int id) {
+        return AsyncApiClient.send("DELETE", AUTHORS + "/" + id, null);
+    }
+}
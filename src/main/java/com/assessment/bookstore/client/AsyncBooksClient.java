@@ -0,0 +1,43 @@
+package com.assessment.bookstore.client;
+
+import com.assessment.bookstore.model.Book;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncBooksClient {
+
+    private static final String BOOKS = "/Books";
+
+    public CompletableFuture<Response> getAll() {
+        return AsyncApiClient.send("GET", BOOKS, null);
+    }
+
+    public CompletableFuture<Response> getById(int id) {
+        return AsyncApiClient.send("GET", BOOKS + "/" + id, null);
+    }
+
+    public CompletableFuture<Response> create(Book book) {
+        return AsyncApiClient.send("POST", BOOKS, book);
+    }
+
+    public CompletableFuture<Response> update(int id, Book book) {
+        return AsyncApiClient.send("PUT", BOOKS + "/" + id, book);
+    }
+
+    /**
+     * Sends {@code body} as is, for payloads a {@link Book} cannot express: missing fields, nulls or wrong types.
+     */
+    public CompletableFuture<Response> create(JsonNode body) {
+        return AsyncApiClient.send("POST", BOOKS, body);
+    }
+
+    public CompletableFuture<Response> update(int id, JsonNode body) {
+        return AsyncApiClient.send("PUT", BOOKS + "/" + id, body);
+    }
+
+    public CompletableFuture<Response> delete(int id) {
+        return AsyncApiClient.send("DELETE", BOOKS + "/" + id, null);
+    }
+}
@@ -0,0 +1,253 @@
+package com.assessment.bookstore.client;
+
+import com.assessment.bookstore.config.TestConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared keep-alive connection pool behind {@link ApiClient}, with connect/handshake timings and pool occupancy.
+ * Response entities are buffered as they arrive so a connection goes back to the pool even when the body is
+ * never read.
+ */
+@SuppressWarnings("deprecation")
+public final class ConnectionPool {
+
+    private static volatile ConnectionPool shared;
+
+    private final Manager manager;
+    private final ScheduledExecutorService evictor;
+    private final long keepAliveMs;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder connects = new LongAdder();
+    private final LongAdder connectNanos = new LongAdder();
+    private final LongAccumulator maxConnectNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakLeased = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakPending = new LongAccumulator(Math::max, 0);
+
+    public ConnectionPool(int maxTotal, int maxPerRoute, long idleEvictMs, long keepAliveMs,
+                          int tlsSessionCacheSize, int tlsSessionTimeoutSec) {
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", 80, new TimedSocketFactory(PlainSocketFactory.getSocketFactory())));
+        schemes.register(new Scheme("https", 443,
+                new TimedLayeredSocketFactory(new SSLSocketFactory(tlsContext(tlsSessionCacheSize, tlsSessionTimeoutSec)))));
+
+        this.manager = new Manager(schemes);
+        this.manager.setMaxTotal(maxTotal);
+        this.manager.setDefaultMaxPerRoute(maxPerRoute);
+        this.keepAliveMs = keepAliveMs;
+        this.evictor = idleEvictMs > 0 ? startEvictor(idleEvictMs) : null;
+    }
+
+    public static ConnectionPool shared() {
+        ConnectionPool p = shared;
+        if (p == null) {
+            synchronized (ConnectionPool.class) {
+                p = shared;
+                if (p == null) {
+                    p = new ConnectionPool(
+                            TestConfig.poolMaxTotal(),
+                            TestConfig.poolMaxPerRoute(),
+                            TestConfig.poolIdleEvictMs(),
+                            TestConfig.keepAliveMs(),
+                            TestConfig.tlsSessionCacheSize(),
+                            TestConfig.tlsSessionTimeoutSec());
+                    shared = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    public static boolean isSharedStarted() {
+        return shared != null;
+    }
+
+    DefaultHttpClient newHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(manager);
+        client.setKeepAliveStrategy(keepAliveStrategy());
+        client.addRequestInterceptor((request, context) -> {
+            requests.increment();
+            sample();
+        });
+        client.addResponseInterceptor((response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.isStreaming()) {
+                response.setEntity(new BufferedHttpEntity(entity));
+            }
+        });
+        return client;
+    }
+
+    public PoolMetrics metrics() {
+        PoolStats stats = manager.getTotalStats();
+        long connected = connects.sum();
+        return new PoolMetrics(
+                requests.sum(),
+                connected,
+                connected == 0 ? 0 : connectNanos.sum() / 1_000.0 / connected,
+                maxConnectNanos.get() / 1_000.0,
+                stats.getLeased(),
+                stats.getAvailable(),
+                stats.getPending(),
+                stats.getMax(),
+                peakLeased.get(),
+                peakPending.get());
+    }
+
+    public void close() {
+        if (evictor != null) evictor.shutdownNow();
+        manager.close();
+    }
+
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (HttpResponse response, HttpContext context) -> {
+            BasicHeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement element = it.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Math.min(Long.parseLong(element.getValue()) * 1000, keepAliveMs);
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+            return keepAliveMs;
+        };
+    }
+
+    private ScheduledExecutorService startEvictor(long idleEvictMs) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "http-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, idleEvictMs / 2);
+        executor.scheduleAtFixedRate(() -> {
+            sample();
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(idleEvictMs, TimeUnit.MILLISECONDS);
+        }, period, period, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    private void sample() {
+        PoolStats stats = manager.getTotalStats();
+        peakLeased.accumulate(stats.getLeased());
+        peakPending.accumulate(stats.getPending());
+    }
+
+    private void recordConnect(long nanos) {
+        connects.increment();
+        connectNanos.add(nanos);
+        maxConnectNanos.accumulate(nanos);
+    }
+
+    private static SSLContext tlsContext(int sessionCacheSize, int sessionTimeoutSec) {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, null, null);
+            context.getClientSessionContext().setSessionCacheSize(sessionCacheSize);
+            context.getClientSessionContext().setSessionTimeout(sessionTimeoutSec);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialise TLS context", e);
+        }
+    }
+
+    public record PoolMetrics(long requests, long connects, double meanConnectMicros, double maxConnectMicros,
+                              int leased, int available, int pending, int max,
+                              long peakLeased, long peakPending) {
+
+        public double connectsPerRequest() {
+            return requests == 0 ? 0 : (double) connects / requests;
+        }
+    }
+
+    /**
+     * RestAssured shuts the connection manager down after every request unless the client instance is reused,
+     * which the curl logger config turns off; keep the pool alive until {@link #close()}.
+     */
+    private static final class Manager extends PoolingClientConnectionManager {
+
+        Manager(SchemeRegistry schemes) {
+            super(schemes);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        void close() {
+            super.shutdown();
+        }
+    }
+
+    private class TimedSocketFactory implements SchemeSocketFactory {
+
+        final SchemeSocketFactory delegate;
+
+        TimedSocketFactory(SchemeSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return delegate.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local, HttpParams params)
+                throws IOException, ConnectTimeoutException {
+            long start = System.nanoTime();
+            Socket connected = delegate.connectSocket(socket, remote, local, params);
+            recordConnect(System.nanoTime() - start);
+            return connected;
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return delegate.isSecure(socket);
+        }
+    }
+
+    private final class TimedLayeredSocketFactory extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+
+        TimedLayeredSocketFactory(SchemeLayeredSocketFactory delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+            return ((SchemeLayeredSocketFactory) delegate).createLayeredSocket(socket, target, port, params);
+        }
+    }
+}
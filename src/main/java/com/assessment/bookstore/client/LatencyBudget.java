@@ -0,0 +1,47 @@
+package com.assessment.bookstore.client;
+
+import java.time.Duration;
+
+/**
+ * Wall-clock deadline of the current test, started per test by the JUnit extension: everything the test does after
+ * it starts, waits and assertions included, uses it up, not just the time spent in HTTP calls.
+ * {@link ResilienceFilter} stops retrying and hedging when the budget runs low and fails further requests once it
+ * is spent. Threads without a budget are unlimited.
+ */
+public final class LatencyBudget {
+
+    private static final ThreadLocal<Budget> CURRENT = new ThreadLocal<>();
+
+    private LatencyBudget() {
+    }
+
+    public static void start(Duration budget) {
+        if (budget.isZero() || budget.isNegative()) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(new Budget(budget, System.nanoTime() + budget.toNanos()));
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * This thread's budget, or {@code null} when it has none, for requests that complete on other threads.
+     */
+    static Budget current() {
+        return CURRENT.get();
+    }
+
+    static long remainingNanos() {
+        return remainingNanos(CURRENT.get());
+    }
+
+    static long remainingNanos(Budget budget) {
+        return budget == null ? Long.MAX_VALUE : budget.deadline() - System.nanoTime();
+    }
+
+    record Budget(Duration budget, long deadline) {
+    }
+}
@@ -0,0 +1,445 @@
+package com.assessment.bookstore.client;
+
+import com.assessment.bookstore.config.AppConfig;
+import com.assessment.bookstore.config.TestConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Retries, circuit breaking and hedging for {@link ApiClient} requests, bounded by the test's {@link LatencyBudget}.
+ * <ul>
+ *     <li>Idempotent methods are retried up to {@code HTTP_RETRY_MAX_ATTEMPTS} times on I/O errors and
+ *     {@code HTTP_RETRY_STATUSES}, with jittered exponential backoff from {@code HTTP_RETRY_BACKOFF_MS}.</li>
+ *     <li>Each endpoint ({@code GET Books/{id}}, ...) has a breaker that opens after
+ *     {@code HTTP_BREAKER_FAILURE_THRESHOLD} consecutive failures (I/O errors or 5xx) and rejects requests for
+ *     {@code HTTP_BREAKER_OPEN_MS} before letting one probe through.</li>
+ *     <li>With {@code HTTP_HEDGE_ENABLED}, a GET that has not answered within the endpoint's p95 latency is sent a
+ *     second time and the first answer wins.</li>
+ * </ul>
+ * Retries and hedges go out as copies of the resolved request through the filters after this one, so the reporting
+ * filters in front see one exchange per call; every retry and hedge is recorded as an Allure step instead.
+ * {@link #sendAsync} applies the same rules to {@link AsyncApiClient} requests without holding a thread.
+ */
+public final class ResilienceFilter implements Filter {
+
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final ExecutorService ATTEMPTS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final LongAdder CALLS = new LongAdder();
+    private static final LongAdder RETRIES = new LongAdder();
+    private static final LongAdder HEDGES = new LongAdder();
+    private static final LongAdder HEDGE_WINS = new LongAdder();
+    private static final LongAdder REJECTIONS = new LongAdder();
+    private static final LongAdder BUDGET_EXHAUSTED = new LongAdder();
+
+    private final List<Filter> attemptFilters;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final Set<Integer> retryStatuses;
+    private final int breakerThreshold;
+    private final long breakerOpenNanos;
+    private final boolean hedgeEnabled;
+    private final int hedgeMinSamples;
+    private final long hedgeMinDelayNanos;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param attemptFilters the filters that follow this one in the spec; retries and hedges are sent through them
+     */
+    public ResilienceFilter(List<Filter> attemptFilters) {
+        this(TestConfig.profile(TestConfig.env()), attemptFilters);
+    }
+
+    public ResilienceFilter(AppConfig config, List<Filter> attemptFilters) {
+        this.attemptFilters = List.copyOf(attemptFilters);
+        this.maxAttempts = Math.max(1, config.retryMaxAttempts());
+        this.backoffMs = config.retryBackoffMs();
+        this.retryStatuses = Arrays.stream(config.retryStatuses().split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Integer::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+        this.breakerThreshold = config.breakerFailureThreshold();
+        this.breakerOpenNanos = TimeUnit.MILLISECONDS.toNanos(config.breakerOpenMs());
+        this.hedgeEnabled = config.hedgeEnabled();
+        this.hedgeMinSamples = config.hedgeMinSamples();
+        this.hedgeMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.hedgeMinDelayMs());
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        CALLS.increment();
+        String method = request.getMethod();
+        String path = URI.create(request.getURI()).getRawPath();
+        if (request.getBasePath() != null && path.startsWith(request.getBasePath())) {
+            path = path.substring(request.getBasePath().length());
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(name(method, path), Endpoint::new);
+        int attempts = IDEMPOTENT.contains(method) ? maxAttempts : 1;
+        boolean hedge = hedgeEnabled && "GET".equals(method);
+        LatencyBudget.Budget budget = LatencyBudget.current();
+
+        for (int attempt = 1; ; attempt++) {
+            checkBudget(endpoint.name, budget);
+            endpoint.acquire();
+
+            long start = System.nanoTime();
+            Response response = null;
+            Throwable error = null;
+            try {
+                if (attempt == 1) {
+                    response = hedge ? hedged(endpoint, request, () -> ctx.next(request, responseSpec))
+                            : ctx.next(request, responseSpec);
+                } else {
+                    response = hedge ? hedged(endpoint, request, () -> resend(request)) : resend(request);
+                }
+            } catch (Throwable t) {
+                error = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            }
+
+            long delayMs = backoff(endpoint, hedge, start, attempt, attempts, response, error, budget);
+            if (delayMs < 0) {
+                if (error != null) throw sneaky(error);
+                return response;
+            }
+            step(retryStep(endpoint, attempt, attempts, response, error, delayMs), Status.BROKEN);
+            sleep(delayMs);
+        }
+    }
+
+    /**
+     * {@link #filter} for a request sent without RestAssured, on the calling thread's budget: {@code attempt} sends
+     * it once and is called again for every retry and hedge. Backoffs and hedge delays are scheduled rather than
+     * slept, so no thread waits while an attempt is in flight. Retry and hedge steps are added to {@code steps}, to
+     * be run where the caller's Allure test is current.
+     */
+    CompletableFuture<Response> sendAsync(String method, String path, Supplier<CompletableFuture<Response>> attempt,
+                                          Queue<Runnable> steps) {
+        CALLS.increment();
+        Endpoint endpoint = endpoints.computeIfAbsent(name(method, path), Endpoint::new);
+        int attempts = IDEMPOTENT.contains(method) ? maxAttempts : 1;
+        boolean hedge = hedgeEnabled && "GET".equals(method);
+        return sendAsync(endpoint, 1, attempts, hedge, attempt, LatencyBudget.current(), steps);
+    }
+
+    private CompletableFuture<Response> sendAsync(Endpoint endpoint, int attempt, int attempts, boolean hedge,
+                                                  Supplier<CompletableFuture<Response>> send,
+                                                  LatencyBudget.Budget budget, Queue<Runnable> steps) {
+        long start = System.nanoTime();
+        CompletableFuture<Response> sent;
+        try {
+            checkBudget(endpoint.name, budget);
+            endpoint.acquire();
+            sent = hedge ? hedgedAsync(endpoint, send, budget, steps) : send.get();
+        } catch (Throwable t) {
+            return CompletableFuture.failedFuture(t);
+        }
+        return sent.handle((response, t) -> {
+            Throwable error = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            long delayMs = backoff(endpoint, hedge, start, attempt, attempts, response, error, budget);
+            if (delayMs < 0) {
+                return error != null ? CompletableFuture.<Response>failedFuture(error)
+                        : CompletableFuture.completedFuture(response);
+            }
+            String step = retryStep(endpoint, attempt, attempts, response, error, delayMs);
+            steps.add(() -> step(step, Status.BROKEN));
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, ATTEMPTS))
+                    .thenCompose(ignored -> sendAsync(endpoint, attempt + 1, attempts, hedge, send, budget, steps));
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * Books the outcome of an attempt with the endpoint's breaker and latency, and returns the backoff before the next
+     * attempt, or -1 when there is none: the outcome is final, attempts are used up or the budget would not cover it.
+     */
+    private long backoff(Endpoint endpoint, boolean hedge, long start, int attempt, int attempts, Response response,
+                         Throwable error, LatencyBudget.Budget budget) {
+        boolean failed = error != null || response.getStatusCode() >= 500;
+        endpoint.record(failed, error != null ? error.toString() : response.getStatusLine());
+        if (!failed && !hedge) endpoint.recordLatency(start);
+
+        boolean retryable = error != null ? error instanceof IOException
+                : retryStatuses.contains(response.getStatusCode());
+        long delayMs = backoffMs * (1L << Math.min(attempt - 1, 10));
+        delayMs = delayMs / 2 + ThreadLocalRandom.current().nextLong(delayMs / 2 + 1);
+        if (!retryable || attempt >= attempts
+                || TimeUnit.MILLISECONDS.toNanos(delayMs) >= LatencyBudget.remainingNanos(budget)) {
+            return -1;
+        }
+        RETRIES.increment();
+        return delayMs;
+    }
+
+    private static String retryStep(Endpoint endpoint, int attempt, int attempts, Response response, Throwable error,
+                                    long delayMs) {
+        return "Retry " + (attempt + 1) + "/" + attempts + " of " + endpoint.name + " after "
+                + (error != null ? error : response.getStatusLine()) + " (backoff " + delayMs + " ms)";
+    }
+
+    public static ResilienceStats stats() {
+        return new ResilienceStats(CALLS.sum(), RETRIES.sum(), HEDGES.sum(), HEDGE_WINS.sum(), REJECTIONS.sum(),
+                BUDGET_EXHAUSTED.sum());
+    }
+
+    private Response hedged(Endpoint endpoint, FilterableRequestSpecification request, Attempt original)
+            throws Exception {
+        long start = System.nanoTime();
+        long delayNanos = endpoint.hedgeDelayNanos();
+        if (delayNanos < 0 || delayNanos >= LatencyBudget.remainingNanos()) {
+            Response response = original.send();
+            if (response.getStatusCode() < 500) endpoint.recordLatency(start);
+            return response;
+        }
+
+        // p95 comes from the original requests only, including ones that lose to the hedge, so hedging cannot
+        // drag its own trigger upwards.
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(original::sendUnchecked, ATTEMPTS);
+        primary.thenAccept(response -> {
+            if (response.getStatusCode() < 500) endpoint.recordLatency(start);
+        });
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // slower than p95: hedge below
+        } catch (ExecutionException e) {
+            throw sneaky(e.getCause());
+        }
+
+        HEDGES.increment();
+        CompletableFuture<Response> second = CompletableFuture.supplyAsync(() -> resend(request), ATTEMPTS);
+        CompletableFuture<Response> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Response> f : List.of(primary, second)) {
+            f.whenComplete((r, e) -> {
+                if (e == null) first.complete(r);
+                else if (failures.incrementAndGet() == 2) first.completeExceptionally(e);
+            });
+        }
+
+        Response winner = first.join();
+        boolean hedgeWon = second.isDone() && !second.isCompletedExceptionally() && second.join() == winner;
+        if (hedgeWon) HEDGE_WINS.increment();
+        step("Hedged " + endpoint.name + " after " + TimeUnit.NANOSECONDS.toMillis(delayNanos) + " ms (p95): "
+                + (hedgeWon ? "hedge" : "original request") + " answered first", Status.PASSED);
+        return winner;
+    }
+
+    /**
+     * {@link #hedged} without blocking: the hedge is scheduled after the endpoint's p95 and the first answer wins.
+     */
+    private CompletableFuture<Response> hedgedAsync(Endpoint endpoint, Supplier<CompletableFuture<Response>> send,
+                                                    LatencyBudget.Budget budget, Queue<Runnable> steps) {
+        long start = System.nanoTime();
+        long delayNanos = endpoint.hedgeDelayNanos();
+        CompletableFuture<Response> primary = send.get();
+        primary.thenAccept(response -> {
+            if (response.getStatusCode() < 500) endpoint.recordLatency(start);
+        });
+        if (delayNanos < 0 || delayNanos >= LatencyBudget.remainingNanos(budget)) {
+            return primary;
+        }
+
+        Race race = new Race();
+        primary.whenComplete(race::settle);
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, ATTEMPTS).execute(() -> {
+            if (!race.hedge()) return;
+            HEDGES.increment();
+            CompletableFuture<Response> second;
+            try {
+                second = send.get();
+            } catch (Throwable t) {
+                second = CompletableFuture.failedFuture(t);
+            }
+            second.whenComplete(race::settle);
+        });
+        return race.first.whenComplete((winner, error) -> {
+            if (winner == null || !race.hedged()) return;
+            boolean hedgeWon = primary.isCompletedExceptionally() || primary.getNow(null) != winner;
+            if (hedgeWon) HEDGE_WINS.increment();
+            String step = "Hedged " + endpoint.name + " after " + TimeUnit.NANOSECONDS.toMillis(delayNanos)
+                    + " ms (p95): " + (hedgeWon ? "hedge" : "original request") + " answered first";
+            steps.add(() -> step(step, Status.PASSED));
+        });
+    }
+
+    /**
+     * Sends a copy of the already resolved request through {@link #attemptFilters}; the original filter chain can only
+     * be walked once.
+     */
+    private Response resend(FilterableRequestSpecification request) {
+        RequestSpecification copy = RestAssured.given()
+                .config(request.getConfig())
+                .headers(request.getHeaders())
+                .urlEncodingEnabled(false)
+                .filters(attemptFilters);
+        Object body = request.getBody();
+        if (body != null) {
+            copy.body(body instanceof byte[] bytes ? bytes : body.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return copy.request(request.getMethod(), URI.create(request.getURI()));
+    }
+
+    private static String name(String method, String path) {
+        return method + " " + ResponseCache.template(path.startsWith("/") ? path.substring(1) : path);
+    }
+
+    private static void checkBudget(String name, LatencyBudget.Budget budget) {
+        if (LatencyBudget.remainingNanos(budget) > 0) return;
+        BUDGET_EXHAUSTED.increment();
+        throw new AssertionError("Wall-clock budget of " + budget.budget().toMillis()
+                + " ms for this test is spent; not sending " + name);
+    }
+
+    private static void step(String name, Status status) {
+        if (TestConfig.reportingEnabled() && Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent()) {
+            Allure.step(name, status);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> RuntimeException sneaky(Throwable t) throws T {
+        throw (T) t;
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        Response send() throws Exception;
+
+        default Response sendUnchecked() {
+            try {
+                return send();
+            } catch (Exception e) {
+                throw sneaky(e);
+            }
+        }
+    }
+
+    /**
+     * The first successful answer of an async request and its hedge; fails once every request sent has failed.
+     */
+    private static final class Race {
+
+        final CompletableFuture<Response> first = new CompletableFuture<>();
+        private int inFlight = 1;
+        private boolean settled;
+        private boolean hedged;
+
+        /**
+         * Counts the hedge in, unless the original request has already settled the race.
+         */
+        synchronized boolean hedge() {
+            if (settled) return false;
+            inFlight++;
+            hedged = true;
+            return true;
+        }
+
+        synchronized boolean hedged() {
+            return hedged;
+        }
+
+        void settle(Response response, Throwable error) {
+            synchronized (this) {
+                inFlight--;
+                if (error != null && inFlight > 0) return;
+                settled = true;
+            }
+            if (error == null) first.complete(response);
+            else first.completeExceptionally(error);
+        }
+    }
+
+    public record ResilienceStats(long calls, long retries, long hedges, long hedgeWins, long breakerRejections,
+                                  long budgetExhausted) {
+    }
+
+    private final class Endpoint {
+
+        final String name;
+        final ConcurrentHistogram latency = new ConcurrentHistogram(2);
+        private int consecutiveFailures;
+        private long openUntil;
+        private String lastFailure;
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        synchronized void acquire() {
+            if (breakerThreshold <= 0 || openUntil == 0) return;
+            long now = System.nanoTime();
+            if (now - openUntil < 0) {
+                REJECTIONS.increment();
+                throw new IllegalStateException("Circuit open for " + name + " after " + consecutiveFailures
+                        + " consecutive failures (last: " + lastFailure + "); next probe in "
+                        + TimeUnit.NANOSECONDS.toMillis(openUntil - now) + " ms");
+            }
+            // half-open: this request is the probe, everyone else waits for its outcome
+            openUntil = now + breakerOpenNanos;
+        }
+
+        synchronized void record(boolean failed, String outcome) {
+            if (!failed) {
+                consecutiveFailures = 0;
+                openUntil = 0;
+                return;
+            }
+            consecutiveFailures++;
+            lastFailure = outcome;
+            if (breakerThreshold > 0 && consecutiveFailures >= breakerThreshold) {
+                openUntil = System.nanoTime() + breakerOpenNanos;
+            }
+        }
+
+        void recordLatency(long startNanos) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+
+        long hedgeDelayNanos() {
+            if (latency.getTotalCount() < hedgeMinSamples) return -1;
+            return Math.max(hedgeMinDelayNanos, TimeUnit.MICROSECONDS.toNanos(latency.getValueAtPercentile(95)));
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.assessment.bookstore.client;
+
+import com.assessment.bookstore.config.TestConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in ({@code HTTP_CACHE_ENABLED}) read-through cache for {@code 200} GET responses, bounded to
+ * {@code HTTP_CACHE_MAX_ENTRIES} with least-recently-used eviction and a TTL per endpoint template
+ * ({@code Books}, {@code Books/{id}}, ...).
+ * <p>
+ * Any other method invalidates the whole collection it targets ({@code PUT Books/7} drops {@code Books},
+ * {@code Books/7}, ...) before and after it is sent, and a GET that was in flight across a write is not stored.
+ * Concurrent identical GETs share one request. The cache is per JVM, so it does not see writes from other forks.
+ */
+public final class ResponseCache implements Filter {
+
+    private static volatile ResponseCache shared;
+    private static final Set<Response> HITS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final long defaultTtlNanos;
+    private final Map<String, Long> ttlNanosByEndpoint;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<Snapshot>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(long defaultTtlMs, Map<String, Long> ttlMsByEndpoint, int maxEntries) {
+        this.defaultTtlNanos = TimeUnit.MILLISECONDS.toNanos(defaultTtlMs);
+        this.ttlNanosByEndpoint = new HashMap<>();
+        ttlMsByEndpoint.forEach((endpoint, ttl) -> ttlNanosByEndpoint.put(endpoint, TimeUnit.MILLISECONDS.toNanos(ttl)));
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxEntries) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    public static ResponseCache shared() {
+        ResponseCache c = shared;
+        if (c == null) {
+            synchronized (ResponseCache.class) {
+                c = shared;
+                if (c == null) {
+                    c = new ResponseCache(TestConfig.cacheTtlMs(), parseTtls(TestConfig.cacheEndpointTtls()),
+                            TestConfig.cacheMaxEntries());
+                    shared = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Whether {@code response} was served from a cache, or shared with a concurrent identical GET, instead of the
+     * server.
+     */
+    static boolean isHit(Response response) {
+        return HITS.contains(response);
+    }
+
+    public static boolean isSharedStarted() {
+        return shared != null;
+    }
+
+    /**
+     * Parses {@code Books=60000,Books/{id}=30000}; a TTL of {@code 0} turns caching off for that endpoint.
+     */
+    static Map<String, Long> parseTtls(String ttls) {
+        Map<String, Long> result = new HashMap<>();
+        for (String entry : ttls.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] kv = entry.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid cache TTL entry '" + entry + "', expected endpoint=millis");
+            }
+            result.put(kv[0].trim(), Long.parseLong(kv[1].trim()));
+        }
+        return result;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        URI uri = URI.create(request.getURI());
+        String path = relativePath(uri.getRawPath(), request.getBasePath());
+
+        if (!"GET".equals(request.getMethod())) {
+            invalidate(path);
+            try {
+                return ctx.next(request, responseSpec);
+            } finally {
+                invalidate(path);
+            }
+        }
+
+        long ttlNanos = ttlNanosByEndpoint.getOrDefault(template(path), defaultTtlNanos);
+        if (ttlNanos <= 0) {
+            return ctx.next(request, responseSpec);
+        }
+
+        String key = uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+        Snapshot cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            Response hit = cached.toResponse();
+            HITS.add(hit);
+            return hit;
+        }
+
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            Response shared = join(leader).toResponse();
+            HITS.add(shared);
+            return shared;
+        }
+
+        misses.increment();
+        String collection = collection(path);
+        long generation = generation(collection).get();
+        try {
+            Response response = ctx.next(request, responseSpec);
+            Snapshot snapshot = Snapshot.of(response);
+            if (response.getStatusCode() == 200 && generation(collection).get() == generation) {
+                store(key, snapshot, ttlNanos);
+            }
+            mine.complete(snapshot);
+            return response;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Drops every cached and in-flight entry of the collection {@code path} belongs to.
+     */
+    void invalidate(String path) {
+        String collection = collection(path.startsWith("/") ? path.substring(1) : path);
+        generation(collection).incrementAndGet();
+        inFlight.keySet().removeIf(key -> inCollection(key, collection));
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> {
+                if (!inCollection(key, collection)) return false;
+                invalidations.increment();
+                return true;
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), coalesced.sum(), stores.sum(), invalidations.sum(),
+                evictions.sum(), size);
+    }
+
+    private Snapshot lookup(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) return null;
+            if (System.nanoTime() - entry.expiresAt() > 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.snapshot();
+        }
+    }
+
+    private void store(String key, Snapshot snapshot, long ttlNanos) {
+        synchronized (entries) {
+            entries.put(key, new Entry(snapshot, System.nanoTime() + ttlNanos));
+        }
+        stores.increment();
+    }
+
+    private AtomicLong generation(String collection) {
+        return generations.computeIfAbsent(collection, c -> new AtomicLong());
+    }
+
+    private static Snapshot join(CompletableFuture<Snapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private static String relativePath(String path, String basePath) {
+        if (basePath != null && !basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    private static String collection(String path) {
+        int slash = path.indexOf('/');
+        return slash < 0 ? path : path.substring(0, slash);
+    }
+
+    private static boolean inCollection(String key, String collection) {
+        return key.startsWith(collection)
+                && (key.length() == collection.length()
+                || key.charAt(collection.length()) == '/'
+                || key.charAt(collection.length()) == '?');
+    }
+
+    /**
+     * {@code Books/7} becomes {@code Books/{id}}; TTLs are configured per template.
+     */
+    static String template(String path) {
+        StringBuilder sb = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (sb.length() > 0) sb.append('/');
+            sb.append(!segment.isEmpty() && segment.chars().allMatch(ch -> ch == '-' || Character.isDigit(ch))
+                    ? "{id}" : segment);
+        }
+        return sb.toString();
+    }
+
+    public record CacheStats(long hits, long misses, long coalesced, long stores, long invalidations,
+                             long evictions, int size) {
+
+        public long roundTripsSaved() {
+            return hits + coalesced;
+        }
+
+        public double hitRatio() {
+            long lookups = hits + coalesced + misses;
+            return lookups == 0 ? 0 : (double) roundTripsSaved() / lookups;
+        }
+    }
+
+    private record Entry(Snapshot snapshot, long expiresAt) {
+    }
+
+    /**
+     * Detached copy of a response; every hit gets a fresh {@link Response} so callers never share body state.
+     */
+    private record Snapshot(int statusCode, String statusLine, String contentType, Headers headers, byte[] body) {
+
+        static Snapshot of(Response response) {
+            return new Snapshot(response.getStatusCode(), response.getStatusLine(), response.getContentType(),
+                    response.getHeaders(), response.asByteArray());
+        }
+
+        Response toResponse() {
+            ResponseBuilder builder = new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setBody(body);
+            if (contentType != null && !contentType.isEmpty()) builder.setContentType(contentType);
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.assessment.bookstore.client;
+
+import com.assessment.bookstore.config.TestConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of every {@link ApiClient} call, retries and hedges included but reporting filters excluded,
+ * into a per-endpoint HdrHistogram keyed by method and path template ({@code GET /Books/{id}}). Responses served by
+ * the {@link ResponseCache}, or shared by it with a concurrent identical GET, never reached the server and are left
+ * out of the histograms. {@link AsyncApiClient}
+ * records its calls here too. Each environment
+ * selected with {@code ENVS} has its own histograms; the unqualified accessors read those of {@link ApiClient#env()}.
+ */
+public final class TimingFilter implements Filter {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final Map<String, Map<String, Histogram>> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<Response, Long> LATENCY_NANOS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public Response filter(FilterableRequestSpecification request,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(request, responseSpec);
+        long nanos = System.nanoTime() - start;
+
+        if (!ResponseCache.isHit(response)) {
+            record(request.getMethod(), endpointPath(request), nanos);
+        }
+        LATENCY_NANOS.put(response, nanos);
+        return response;
+    }
+
+    public static void record(String method, String path, long nanos) {
+        record(ApiClient.env(), method, path, nanos);
+    }
+
+    static void record(String env, String method, String path, long nanos) {
+        histograms(env)
+                .computeIfAbsent(endpoint(method, path), k -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static Map<String, Histogram> histograms(String env) {
+        return HISTOGRAMS.computeIfAbsent(env, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * {@code GET /Books/{id}} for {@code GET /api/v1/Books/7}.
+     */
+    public static String endpoint(String method, String path) {
+        return method + " /" + ResponseCache.template(path.startsWith("/") ? path.substring(1) : path);
+    }
+
+    /**
+     * Makes {@link #latencyOf(Response)} report {@code nanos} for a response that was not sent through this filter.
+     */
+    static void recordLatencyOf(Response response, long nanos) {
+        LATENCY_NANOS.put(response, nanos);
+    }
+
+    /**
+     * How long the call that produced {@code response} took, or {@link Response#getTime()} for responses that did
+     * not pass through this filter.
+     */
+    public static Duration latencyOf(Response response) {
+        Long nanos = LATENCY_NANOS.get(response);
+        return nanos != null ? Duration.ofNanos(nanos) : Duration.ofMillis(response.getTime());
+    }
+
+    /**
+     * Copies of the histograms recorded so far (values in microseconds), sorted by endpoint.
+     */
+    public static Map<String, Histogram> snapshot() {
+        return snapshot(ApiClient.env());
+    }
+
+    public static Map<String, Histogram> snapshot(String env) {
+        Map<String, Histogram> copy = new TreeMap<>();
+        histograms(env).forEach((endpoint, h) -> copy.put(endpoint, h.copy()));
+        return copy;
+    }
+
+    /**
+     * {@link #snapshot(String)} of every environment that recorded a call, sorted by environment.
+     */
+    public static Map<String, Map<String, Histogram>> snapshotByEnv() {
+        Map<String, Map<String, Histogram>> copy = new TreeMap<>();
+        HISTOGRAMS.forEach((env, histograms) -> {
+            if (!histograms.isEmpty()) copy.put(env, snapshot(env));
+        });
+        return copy;
+    }
+
+    public static Histogram histogram(String endpoint) {
+        Histogram h = histograms(ApiClient.env()).get(endpoint);
+        return h == null ? null : h.copy();
+    }
+
+    /**
+     * Parses {@code GET /Books/{id}:p95=300:p99=800,GET /Books:p99=1500} into one SLA per endpoint and percentile.
+     */
+    public static List<Sla> parseSlas(String slas) {
+        List<Sla> result = new ArrayList<>();
+        for (String entry : slas.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] parts = entry.trim().split(":");
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Invalid latency SLA '" + entry + "', expected endpoint:pNN=millis");
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String[] kv = parts[i].trim().split("=");
+                if (kv.length != 2 || !kv[0].startsWith("p")) {
+                    throw new IllegalArgumentException("Invalid latency SLA '" + entry + "', expected endpoint:pNN=millis");
+                }
+                result.add(new Sla(parts[0].trim(), Double.parseDouble(kv[0].substring(1)),
+                        Duration.ofMillis(Long.parseLong(kv[1].trim()))));
+            }
+        }
+        return result;
+    }
+
+    public static List<String> slaViolations() {
+        return slaViolations(ApiClient.env());
+    }
+
+    /**
+     * SLAs from the {@code LATENCY_SLAS} of {@code env} whose percentile is over the limit; endpoints that were
+     * never called pass.
+     */
+    public static List<String> slaViolations(String env) {
+        List<String> violations = new ArrayList<>();
+        Map<String, Histogram> histograms = histograms(env);
+        for (Sla sla : parseSlas(TestConfig.profile(env).latencySlas())) {
+            Histogram h = histograms.get(sla.endpoint());
+            if (h == null || h.getTotalCount() == 0) continue;
+            long micros = h.getValueAtPercentile(sla.percentile());
+            if (micros > sla.limit().toNanos() / 1_000) {
+                violations.add(String.format("%s p%s = %.1f ms, limit %d ms",
+                        sla.endpoint(), format(sla.percentile()), micros / 1_000.0, sla.limit().toMillis()));
+            }
+        }
+        return violations;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static String endpointPath(FilterableRequestSpecification request) {
+        String path = URI.create(request.getURI()).getRawPath();
+        String basePath = request.getBasePath();
+        return basePath != null && path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+    }
+
+    public record Sla(String endpoint, double percentile, Duration limit) {
+    }
+}
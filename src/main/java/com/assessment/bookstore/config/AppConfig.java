@@ -1,7 +1,11 @@
 package com.assessment.bookstore.config;
 
+import com.assessment.bookstore.allure.AttachMode;
+import com.assessment.bookstore.allure.ResultsSink;
+import com.assessment.bookstore.allure.StepMode;
+import com.assessment.bookstore.cassette.CassetteMode;
+import com.assessment.bookstore.logging.HttpLogMode;
 import org.aeonbits.owner.Config;
-import org.aeonbits.owner.ConfigFactory;
 
 @Config.LoadPolicy(Config.LoadType.MERGE)
 @Config.Sources({
@@ -25,7 +29,311 @@ public interface AppConfig extends Config {
     @DefaultValue("10000")
     int socketTimeoutMs();
 
-    static AppConfig load() {
+    @Key("HTTP_POOL_MAX_TOTAL")
+    @DefaultValue("200")
+    int poolMaxTotal();
+
+    @Key("HTTP_POOL_MAX_PER_ROUTE")
+    @DefaultValue("50")
+    int poolMaxPerRoute();
+
+    @Key("HTTP_POOL_IDLE_EVICT_MS")
+    @DefaultValue("30000")
+    long poolIdleEvictMs();
+
+    @Key("HTTP_KEEP_ALIVE_MS")
+    @DefaultValue("30000")
+    long keepAliveMs();
+
+    @Key("HTTP_TLS_SESSION_CACHE_SIZE")
+    @DefaultValue("1000")
+    int tlsSessionCacheSize();
+
+    @Key("HTTP_TLS_SESSION_TIMEOUT_SEC")
+    @DefaultValue("3600")
+    int tlsSessionTimeoutSec();
+
+    @Key("HTTP_RETRY_MAX_ATTEMPTS")
+    @DefaultValue("3")
+    int retryMaxAttempts();
+
+    @Key("HTTP_RETRY_BACKOFF_MS")
+    @DefaultValue("200")
+    long retryBackoffMs();
+
+    @Key("HTTP_RETRY_STATUSES")
+    @DefaultValue("502,503,504")
+    String retryStatuses();
+
+    @Key("HTTP_BREAKER_FAILURE_THRESHOLD")
+    @DefaultValue("5")
+    int breakerFailureThreshold();
+
+    @Key("HTTP_BREAKER_OPEN_MS")
+    @DefaultValue("10000")
+    long breakerOpenMs();
+
+    @Key("HTTP_HEDGE_ENABLED")
+    @DefaultValue("false")
+    boolean hedgeEnabled();
+
+    @Key("HTTP_HEDGE_MIN_SAMPLES")
+    @DefaultValue("20")
+    int hedgeMinSamples();
+
+    @Key("HTTP_HEDGE_MIN_DELAY_MS")
+    @DefaultValue("50")
+    long hedgeMinDelayMs();
+
+    @Key("TEST_LATENCY_BUDGET_MS")
+    @DefaultValue("60000")
+    long testLatencyBudgetMs();
+
+    @Key("LATENCY_SLA_MS")
+    @DefaultValue("5000")
+    long latencySlaMs();
+
+    @Key("LATENCY_SLAS")
+    @DefaultValue("")
+    String latencySlas();
+
+    @Key("WAIT_MIN_INTERVAL_MS")
+    @DefaultValue("50")
+    long waitMinIntervalMs();
+
+    @Key("WAIT_MAX_INTERVAL_MS")
+    @DefaultValue("2000")
+    long waitMaxIntervalMs();
+
+    @Key("WAIT_BACKOFF_MULTIPLIER")
+    @DefaultValue("2.0")
+    double waitBackoffMultiplier();
+
+    @Key("WAIT_JITTER")
+    @DefaultValue("0.2")
+    double waitJitter();
+
+    @Key("HTTP_CACHE_ENABLED")
+    @DefaultValue("false")
+    boolean cacheEnabled();
+
+    @Key("HTTP_CACHE_TTL_MS")
+    @DefaultValue("30000")
+    long cacheTtlMs();
+
+    @Key("HTTP_CACHE_ENDPOINT_TTLS")
+    @DefaultValue("")
+    String cacheEndpointTtls();
+
+    @Key("HTTP_CACHE_MAX_ENTRIES")
+    @DefaultValue("1000")
+    int cacheMaxEntries();
+
+    @Key("HTTP_CASSETTE_MODE")
+    @DefaultValue("OFF")
+    CassetteMode cassetteMode();
+
+    @Key("HTTP_CASSETTE_PATH")
+    @DefaultValue("build/cassettes/bookstore.cassette")
+    String cassettePath();
+
+    @Key("ID_SLOT")
+    @DefaultValue("-1")
+    int idSlot();
+
+    @Key("LOCAL_SERVER")
+    @DefaultValue("false")
+    boolean localServer();
+
+    @Key("HTTP_REPORTING_ENABLED")
+    @DefaultValue("true")
+    boolean reportingEnabled();
+
+    @Key("HTTP_LOG_MODE")
+    @DefaultValue("ON_FAILURE")
+    HttpLogMode httpLogMode();
+
+    @Key("HTTP_LOG_BUFFER_SIZE")
+    @DefaultValue("32")
+    int httpLogBufferSize();
+
+    @Key("ALLURE_ATTACH_BODIES")
+    @DefaultValue("ALWAYS")
+    AttachMode allureAttachBodies();
+
+    @Key("ALLURE_ATTACH_MAX_BYTES")
+    @DefaultValue("16384")
+    int allureAttachMaxBytes();
+
+    @Key("ALLURE_ATTACH_GZIP")
+    @DefaultValue("false")
+    boolean allureAttachGzip();
+
+    @Key("ALLURE_STEP_MODE")
+    @DefaultValue("FULL")
+    StepMode allureStepMode();
+
+    @Key("ALLURE_STEP_SAMPLE_RATE")
+    @DefaultValue("1.0")
+    double allureStepSampleRate();
+
+    @Key("LOAD_RPS")
+    @DefaultValue("50")
+    int loadRps();
+
+    @Key("LOAD_DURATION_SEC")
+    @DefaultValue("60")
+    int loadDurationSec();
+
+    @Key("LOAD_MIX")
+    @DefaultValue("books.getAll=35,books.getById=35,books.create=20,books.update=5,books.delete=5")
+    String loadMix();
+
+    @Key("LOAD_MAX_IN_FLIGHT")
+    @DefaultValue("2000")
+    int loadMaxInFlight();
+
+    @Key("DATASET_SEED")
+    @DefaultValue("42")
+    long datasetSeed();
+
+    @Key("DATASET_BOOKS")
+    @DefaultValue("100000")
+    int datasetBooks();
+
+    @Key("DATASET_PARTITIONS")
+    @DefaultValue("0")
+    int datasetPartitions();
+
+    @Key("DATASET_TITLE_WORDS")
+    @DefaultValue("1-8")
+    String datasetTitleWords();
+
+    @Key("DATASET_DESCRIPTION_WORDS")
+    @DefaultValue("10-80")
+    String datasetDescriptionWords();
+
+    @Key("DATASET_PAGE_COUNT")
+    @DefaultValue("20-1200")
+    String datasetPageCount();
+
+    @Key("DATASET_PUBLISH_YEARS")
+    @DefaultValue("1950-2024")
+    String datasetPublishYears();
+
+    @Key("DATASET_AUTHORS_PER_BOOK")
+    @DefaultValue("1-4")
+    String datasetAuthorsPerBook();
+
+    @Key("DATASET_SINK")
+    @DefaultValue("file")
+    String datasetSink();
+
+    @Key("DATASET_OUTPUT")
+    @DefaultValue("build/dataset")
+    String datasetOutput();
+
+    @Key("TEST_SHARD")
+    @DefaultValue("")
+    String testShard();
+
+    @Key("TEST_HISTORY_DIR")
+    @DefaultValue("build/test-history")
+    String testHistoryDir();
+
+    @Key("PERF_BASELINE_DIR")
+    @DefaultValue("build/perf-baselines")
+    String perfBaselineDir();
+
+    @Key("PERF_RUN_ID")
+    @DefaultValue("")
+    String perfRunId();
+
+    @Key("PERF_SUITE")
+    @DefaultValue("test")
+    String perfSuite();
+
+    @Key("PERF_BASELINE_RUNS")
+    @DefaultValue("10")
+    int perfBaselineRuns();
+
+    @Key("PERF_REGRESSION_PCT")
+    @DefaultValue("20")
+    double perfRegressionPct();
+
+    @Key("PERF_REGRESSION_ALPHA")
+    @DefaultValue("0.05")
+    double perfRegressionAlpha();
+
+    @Key("PERF_REGRESSION_MIN_SAMPLES")
+    @DefaultValue("20")
+    long perfRegressionMinSamples();
+
+    @Key("ENVS")
+    @DefaultValue("")
+    String envs();
+
+    @Key("DIFF_BEFORE")
+    @DefaultValue("")
+    String diffBefore();
+
+    @Key("DIFF_AFTER")
+    @DefaultValue("")
+    String diffAfter();
+
+    @Key("DIFF_COLLECTIONS")
+    @DefaultValue("Books,Authors")
+    String diffCollections();
+
+    @Key("DIFF_SNAPSHOT_DIR")
+    @DefaultValue("build/fingerprints")
+    String diffSnapshotDir();
+
+    @Key("DIFF_SAVE_AS")
+    @DefaultValue("")
+    String diffSaveAs();
+
+    @Key("DIFF_DETAIL_LIMIT")
+    @DefaultValue("20")
+    int diffDetailLimit();
+
+    @Key("FUZZ_CASES")
+    @DefaultValue("2000")
+    int fuzzCases();
+
+    @Key("FUZZ_SEED")
+    @DefaultValue("0")
+    long fuzzSeed();
+
+    @Key("FUZZ_MAX_IN_FLIGHT")
+    @DefaultValue("64")
+    int fuzzMaxInFlight();
+
+    @Key("FUZZ_SHRINK_STEPS")
+    @DefaultValue("200")
+    int fuzzShrinkSteps();
+
+    @Key("SOAK_DURATION_SEC")
+    @DefaultValue("3600")
+    int soakDurationSec();
+
+    @Key("SOAK_CONCURRENCY")
+    @DefaultValue("4")
+    int soakConcurrency();
+
+    @Key("SOAK_WINDOW_SEC")
+    @DefaultValue("60")
+    int soakWindowSec();
+
+    @Key("ALLURE_RESULTS_SINK")
+    @DefaultValue("DIRECTORY")
+    ResultsSink allureResultsSink();
+
+    @Key("ALLURE_ARCHIVE_GZIP")
+    @DefaultValue("false")
+    boolean allureArchiveGzip();
+
+    static String resolveEnv() {
         String env = System.getProperty("ENV");
         if (env == null || env.isBlank()) {
             env = System.getenv("ENV");
@@ -33,9 +341,6 @@ public interface AppConfig extends Config {
         if (env == null || env.isBlank()) {
             env = "qa";
         }
-
-        ConfigFactory.setProperty("env", env);
-
-        return ConfigFactory.create(AppConfig.class, System.getProperties());
+        return env;
     }
 }
@@ -0,0 +1,132 @@
+package com.assessment.bookstore.config;
+
+import com.assessment.bookstore.allure.AttachMode;
+import com.assessment.bookstore.allure.ResultsSink;
+import com.assessment.bookstore.allure.StepMode;
+import com.assessment.bookstore.cassette.CassetteMode;
+import com.assessment.bookstore.logging.HttpLogMode;
+import org.aeonbits.owner.Config.DefaultValue;
+import org.aeonbits.owner.Config.Key;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Every {@link AppConfig} value, resolved once at startup into plain fields.
+ * <p>
+ * {@link AppConfig} stays the schema; values resolve like its {@code @Sources}/{@code MERGE} declaration: system
+ * properties, then {@code env/<ENV>.properties}, then {@code env/qa.properties}, then {@code @DefaultValue}.
+ * Reading one is a field access instead of a call through Owner's proxy, and building it skips Owner's
+ * {@code ConfigFactory} altogether.
+ */
+record ConfigSnapshot(
+        String baseUrl, String apiPrefix, int connectTimeoutMs, int socketTimeoutMs, int poolMaxTotal,
+        int poolMaxPerRoute, long poolIdleEvictMs, long keepAliveMs, int tlsSessionCacheSize,
+        int tlsSessionTimeoutSec, int retryMaxAttempts, long retryBackoffMs, String retryStatuses,
+        int breakerFailureThreshold, long breakerOpenMs, boolean hedgeEnabled, int hedgeMinSamples,
+        long hedgeMinDelayMs, long testLatencyBudgetMs, long latencySlaMs, String latencySlas,
+        long waitMinIntervalMs, long waitMaxIntervalMs, double waitBackoffMultiplier, double waitJitter,
+        boolean cacheEnabled, long cacheTtlMs, String cacheEndpointTtls, int cacheMaxEntries,
+        CassetteMode cassetteMode, String cassettePath, int idSlot, boolean localServer,
+        boolean reportingEnabled, HttpLogMode httpLogMode, int httpLogBufferSize,
+        AttachMode allureAttachBodies, int allureAttachMaxBytes, boolean allureAttachGzip,
+        StepMode allureStepMode, double allureStepSampleRate, int loadRps, int loadDurationSec, String loadMix,
+        int loadMaxInFlight, long datasetSeed, int datasetBooks, int datasetPartitions,
+        String datasetTitleWords, String datasetDescriptionWords, String datasetPageCount,
+        String datasetPublishYears, String datasetAuthorsPerBook, String datasetSink, String datasetOutput,
+        String testShard, String testHistoryDir, String perfBaselineDir, String perfRunId,
+        String perfSuite, int perfBaselineRuns, double perfRegressionPct, double perfRegressionAlpha,
+        long perfRegressionMinSamples, String envs, String diffBefore, String diffAfter, String diffCollections,
+        String diffSnapshotDir, String diffSaveAs, int diffDetailLimit, int fuzzCases, long fuzzSeed,
+        int fuzzMaxInFlight, int fuzzShrinkSteps, int soakDurationSec, int soakConcurrency,
+        int soakWindowSec, ResultsSink allureResultsSink, boolean allureArchiveGzip) implements AppConfig {
+
+    static ConfigSnapshot load() {
+        return load(AppConfig.resolveEnv());
+    }
+
+    /**
+     * The profile of {@code env}; system properties still win, so a {@code -D} override applies to every profile.
+     */
+    static ConfigSnapshot load(String env) {
+        Properties qa = properties("env/qa.properties");
+        Properties merged = new Properties();
+        merged.putAll(qa);
+        merged.putAll(properties("env/" + env + ".properties"));
+
+        Map<String, Method> methods = new HashMap<>();
+        for (Method method : AppConfig.class.getMethods()) {
+            methods.put(method.getName(), method);
+        }
+
+        RecordComponent[] components = ConfigSnapshot.class.getRecordComponents();
+        Object[] values = new Object[components.length];
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Method method = methods.get(components[i].getName());
+            if (method == null) {
+                throw new IllegalStateException("ConfigSnapshot." + components[i].getName() + " has no AppConfig counterpart");
+            }
+            types[i] = components[i].getType();
+            values[i] = resolve(method, types[i], merged);
+        }
+        try {
+            Constructor<ConfigSnapshot> constructor = ConfigSnapshot.class.getDeclaredConstructor(types);
+            return constructor.newInstance(values);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Failed to build config snapshot", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to build config snapshot", e);
+        }
+    }
+
+    private static Object resolve(Method method, Class<?> type, Properties properties) {
+        Key key = method.getAnnotation(Key.class);
+        String property = key != null ? key.value() : method.getName();
+
+        String value = System.getProperty(property);
+        if (value == null) value = properties.getProperty(property);
+        if (value == null) {
+            DefaultValue defaultValue = method.getAnnotation(DefaultValue.class);
+            value = defaultValue != null ? defaultValue.value() : null;
+        }
+        if (value == null) {
+            if (type.isPrimitive()) throw new IllegalStateException("Missing required config " + property);
+            return null;
+        }
+        return convert(property, value.trim(), type);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(String property, String value, Class<?> type) {
+        try {
+            if (type == String.class) return value;
+            if (type == int.class) return Integer.parseInt(value);
+            if (type == long.class) return Long.parseLong(value);
+            if (type == double.class) return Double.parseDouble(value);
+            if (type == boolean.class) return Boolean.parseBoolean(value);
+            if (type.isEnum()) return Enum.valueOf((Class<? extends Enum>) type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for " + property, e);
+        }
+        throw new IllegalStateException("Unsupported config type " + type.getName() + " for " + property);
+    }
+
+    private static Properties properties(String resource) {
+        Properties properties = new Properties();
+        try (InputStream in = ConfigSnapshot.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in != null) properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource, e);
+        }
+        return properties;
+    }
+}
@@ -1,29 +1,72 @@
 package com.assessment.bookstore.config;
 
+import com.assessment.bookstore.allure.AttachMode;
+import com.assessment.bookstore.allure.ResultsSink;
+import com.assessment.bookstore.allure.StepMode;
+import com.assessment.bookstore.cassette.CassetteMode;
+import com.assessment.bookstore.logging.HttpLogMode;
+import com.assessment.bookstore.server.LocalBookstoreServer;
+import com.assessment.bookstore.util.StartupTimings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public final class TestConfig {
-    private static final AppConfig CFG = AppConfig.load();
+    private static final AppConfig CFG = timed();
+    private static final Map<String, AppConfig> PROFILES = new ConcurrentHashMap<>();
 
     private TestConfig() {
     }
 
+    private static AppConfig timed() {
+        long start = System.nanoTime();
+        AppConfig config = ConfigSnapshot.load();
+        StartupTimings.record("config", start);
+        return config;
+    }
+
     public static String env() {
-        String env = System.getProperty("env");
-        if (env != null && !env.isBlank()) {
-            return env;
-        }
-        env = System.getenv("env");
-        if (env != null && !env.isBlank()) {
-            return env;
+        return AppConfig.resolveEnv();
+    }
+
+    /**
+     * The environments named in {@code ENVS}, in order and without duplicates, or just {@link #env()}.
+     */
+    public static List<String> envs() {
+        List<String> envs = new ArrayList<>();
+        for (String env : CFG.envs().split(",")) {
+            String name = env.trim();
+            if (!name.isEmpty() && !envs.contains(name)) envs.add(name);
         }
-        return "qa";
+        return envs.isEmpty() ? List.of(env()) : List.copyOf(envs);
+    }
+
+    /**
+     * The configuration of {@code env}, resolved like the one of {@link #env()}.
+     */
+    public static AppConfig profile(String env) {
+        return env.equals(env()) ? CFG : PROFILES.computeIfAbsent(env, ConfigSnapshot::load);
     }
 
     public static String baseUrl() {
-        return CFG.baseUrl();
+        return baseUrl(CFG);
+    }
+
+    public static String baseUrl(AppConfig profile) {
+        if (profile.localServer()) {
+            return LocalBookstoreServer.shared(apiPrefix(profile)).baseUrl();
+        }
+        return profile.baseUrl();
     }
 
     public static String apiPrefix() {
-        return normalizePath(CFG.apiPrefix());
+        return apiPrefix(CFG);
+    }
+
+    public static String apiPrefix(AppConfig profile) {
+        return normalizePath(profile.apiPrefix());
     }
 
     public static int connectTimeoutMs() {
@@ -34,6 +77,306 @@ public final class TestConfig {
         return CFG.socketTimeoutMs();
     }
 
+    public static int poolMaxTotal() {
+        return CFG.poolMaxTotal();
+    }
+
+    public static int poolMaxPerRoute() {
+        return CFG.poolMaxPerRoute();
+    }
+
+    public static long poolIdleEvictMs() {
+        return CFG.poolIdleEvictMs();
+    }
+
+    public static long keepAliveMs() {
+        return CFG.keepAliveMs();
+    }
+
+    public static int tlsSessionCacheSize() {
+        return CFG.tlsSessionCacheSize();
+    }
+
+    public static int tlsSessionTimeoutSec() {
+        return CFG.tlsSessionTimeoutSec();
+    }
+
+    public static int retryMaxAttempts() {
+        return CFG.retryMaxAttempts();
+    }
+
+    public static long retryBackoffMs() {
+        return CFG.retryBackoffMs();
+    }
+
+    public static String retryStatuses() {
+        return CFG.retryStatuses();
+    }
+
+    public static int breakerFailureThreshold() {
+        return CFG.breakerFailureThreshold();
+    }
+
+    public static long breakerOpenMs() {
+        return CFG.breakerOpenMs();
+    }
+
+    public static boolean hedgeEnabled() {
+        return CFG.hedgeEnabled();
+    }
+
+    public static int hedgeMinSamples() {
+        return CFG.hedgeMinSamples();
+    }
+
+    public static long hedgeMinDelayMs() {
+        return CFG.hedgeMinDelayMs();
+    }
+
+    public static long testLatencyBudgetMs() {
+        return CFG.testLatencyBudgetMs();
+    }
+
+    public static long latencySlaMs() {
+        return CFG.latencySlaMs();
+    }
+
+    public static String latencySlas() {
+        return CFG.latencySlas();
+    }
+
+    public static long waitMinIntervalMs() {
+        return CFG.waitMinIntervalMs();
+    }
+
+    public static long waitMaxIntervalMs() {
+        return CFG.waitMaxIntervalMs();
+    }
+
+    public static double waitBackoffMultiplier() {
+        return CFG.waitBackoffMultiplier();
+    }
+
+    public static double waitJitter() {
+        return CFG.waitJitter();
+    }
+
+    public static boolean cacheEnabled() {
+        return CFG.cacheEnabled();
+    }
+
+    public static long cacheTtlMs() {
+        return CFG.cacheTtlMs();
+    }
+
+    public static String cacheEndpointTtls() {
+        return CFG.cacheEndpointTtls();
+    }
+
+    public static int cacheMaxEntries() {
+        return CFG.cacheMaxEntries();
+    }
+
+    public static CassetteMode cassetteMode() {
+        return CFG.cassetteMode();
+    }
+
+    public static String cassettePath() {
+        return CFG.cassettePath();
+    }
+
+    public static int idSlot() {
+        return CFG.idSlot();
+    }
+
+    public static boolean localServer() {
+        return CFG.localServer();
+    }
+
+    public static boolean reportingEnabled() {
+        return CFG.reportingEnabled();
+    }
+
+    public static HttpLogMode httpLogMode() {
+        return CFG.httpLogMode();
+    }
+
+    public static int httpLogBufferSize() {
+        return CFG.httpLogBufferSize();
+    }
+
+    public static AttachMode allureAttachBodies() {
+        return CFG.allureAttachBodies();
+    }
+
+    public static int allureAttachMaxBytes() {
+        return CFG.allureAttachMaxBytes();
+    }
+
+    public static boolean allureAttachGzip() {
+        return CFG.allureAttachGzip();
+    }
+
+    public static StepMode allureStepMode() {
+        return CFG.allureStepMode();
+    }
+
+    public static double allureStepSampleRate() {
+        return CFG.allureStepSampleRate();
+    }
+
+    public static int loadRps() {
+        return CFG.loadRps();
+    }
+
+    public static int loadDurationSec() {
+        return CFG.loadDurationSec();
+    }
+
+    public static String loadMix() {
+        return CFG.loadMix();
+    }
+
+    public static int loadMaxInFlight() {
+        return CFG.loadMaxInFlight();
+    }
+
+    public static long datasetSeed() {
+        return CFG.datasetSeed();
+    }
+
+    public static int datasetBooks() {
+        return CFG.datasetBooks();
+    }
+
+    public static int datasetPartitions() {
+        return CFG.datasetPartitions();
+    }
+
+    public static String datasetTitleWords() {
+        return CFG.datasetTitleWords();
+    }
+
+    public static String datasetDescriptionWords() {
+        return CFG.datasetDescriptionWords();
+    }
+
+    public static String datasetPageCount() {
+        return CFG.datasetPageCount();
+    }
+
+    public static String datasetPublishYears() {
+        return CFG.datasetPublishYears();
+    }
+
+    public static String datasetAuthorsPerBook() {
+        return CFG.datasetAuthorsPerBook();
+    }
+
+    public static String datasetSink() {
+        return CFG.datasetSink();
+    }
+
+    public static String datasetOutput() {
+        return CFG.datasetOutput();
+    }
+
+    public static String testShard() {
+        return CFG.testShard();
+    }
+
+    public static String testHistoryDir() {
+        return CFG.testHistoryDir();
+    }
+
+    public static String perfBaselineDir() {
+        return CFG.perfBaselineDir();
+    }
+
+    public static String perfRunId() {
+        return CFG.perfRunId();
+    }
+
+    public static String perfSuite() {
+        return CFG.perfSuite();
+    }
+
+    public static int perfBaselineRuns() {
+        return CFG.perfBaselineRuns();
+    }
+
+    public static double perfRegressionPct() {
+        return CFG.perfRegressionPct();
+    }
+
+    public static double perfRegressionAlpha() {
+        return CFG.perfRegressionAlpha();
+    }
+
+    public static long perfRegressionMinSamples() {
+        return CFG.perfRegressionMinSamples();
+    }
+
+    public static String diffBefore() {
+        return CFG.diffBefore();
+    }
+
+    public static String diffAfter() {
+        return CFG.diffAfter();
+    }
+
+    public static String diffCollections() {
+        return CFG.diffCollections();
+    }
+
+    public static String diffSnapshotDir() {
+        return CFG.diffSnapshotDir();
+    }
+
+    public static String diffSaveAs() {
+        return CFG.diffSaveAs();
+    }
+
+    public static int diffDetailLimit() {
+        return CFG.diffDetailLimit();
+    }
+
+    public static int fuzzCases() {
+        return CFG.fuzzCases();
+    }
+
+    public static long fuzzSeed() {
+        return CFG.fuzzSeed();
+    }
+
+    public static int fuzzMaxInFlight() {
+        return CFG.fuzzMaxInFlight();
+    }
+
+    public static int fuzzShrinkSteps() {
+        return CFG.fuzzShrinkSteps();
+    }
+
+    public static int soakDurationSec() {
+        return CFG.soakDurationSec();
+    }
+
+    public static int soakConcurrency() {
+        return CFG.soakConcurrency();
+    }
+
+    public static int soakWindowSec() {
+        return CFG.soakWindowSec();
+    }
+
+    public static ResultsSink allureResultsSink() {
+        return CFG.allureResultsSink();
+    }
+
+    public static boolean allureArchiveGzip() {
+        return CFG.allureArchiveGzip();
+    }
+
     private static String normalizePath(String path) {
         String p = path == null ? "" : path.trim();
         if (p.isBlank()) throw new IllegalStateException("API prefix is blank");
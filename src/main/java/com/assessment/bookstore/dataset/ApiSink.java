@@ -0,0 +1,30 @@
+package com.assessment.bookstore.dataset;
+
+import com.assessment.bookstore.client.AuthorsClient;
+import com.assessment.bookstore.client.BooksClient;
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+
+/**
+ * Sends generated records straight to the API through {@link BooksClient} and {@link AuthorsClient}.
+ */
+public final class ApiSink implements DatasetGenerator.RecordSink {
+
+    private final BooksClient books = new BooksClient();
+    private final AuthorsClient authors = new AuthorsClient();
+    private long failures;
+
+    @Override
+    public void book(Book book) {
+        if (books.create(book).getStatusCode() != 200) failures++;
+    }
+
+    @Override
+    public void author(Author author) {
+        if (authors.create(author).getStatusCode() != 200) failures++;
+    }
+
+    public long failures() {
+        return failures;
+    }
+}
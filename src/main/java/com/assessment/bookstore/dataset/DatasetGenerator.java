@@ -0,0 +1,187 @@
+package com.assessment.bookstore.dataset;
+
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic Book/Author generator. Books are split into contiguous id ranges, one per partition, and every book
+ * draws from its own {@link SplittableRandom} seeded from {@code (seed, idBook)}, so partitions run on separate
+ * threads without sharing state and the records are the same whatever the partition count.
+ * Author ids are derived from the book id ({@code (idBook - 1) * authorsPerBook.max + n}), so they are unique without
+ * coordination too.
+ */
+public final class DatasetGenerator {
+
+    private static final String[] WORDS = {
+            "river", "shadow", "garden", "silent", "winter", "empire", "glass", "ocean", "night", "memory",
+            "iron", "crown", "forest", "letter", "distant", "golden", "storm", "house", "journey", "secret",
+            "broken", "light", "city", "stone", "summer", "island", "echo", "machine", "paper", "harbor",
+            "wild", "fire", "mountain", "quiet", "history", "star", "bridge", "last", "salt", "kingdom",
+            "road", "mirror", "hidden", "north", "song", "ember", "valley", "clock", "orchard", "tide",
+            "signal", "lantern", "atlas", "velvet", "copper", "hollow", "thunder", "meadow", "archive", "compass",
+            "harvest", "frost", "canyon", "voyage"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Boris", "Chloe", "Dmitri", "Elena", "Farid", "Grace", "Hiro", "Ines", "Jonas",
+            "Kira", "Luca", "Maya", "Nikolai", "Olga", "Pablo", "Quinn", "Rosa", "Sven", "Tara"
+    };
+    private static final String[] LAST_NAMES = {
+            "Anders", "Brooks", "Castillo", "Dubois", "Eriksen", "Fischer", "Garcia", "Hughes", "Ivanova", "Jensen",
+            "Kowalski", "Lindqvist", "Moreau", "Novak", "Okafor", "Petrov", "Quintero", "Rossi", "Sato", "Tanaka"
+    };
+
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L;
+
+    private final DatasetSpec spec;
+    private final long firstDay;
+    private final long days;
+    private final double pageCountMu;
+    private final double pageCountSigma;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+        this.firstDay = LocalDate.of(spec.publishYears().min(), 1, 1).toEpochDay();
+        this.days = LocalDate.of(spec.publishYears().max(), 12, 31).toEpochDay() - firstDay + 1;
+        double logMin = Math.log(spec.pageCount().min());
+        double logMax = Math.log(spec.pageCount().max());
+        this.pageCountMu = (logMin + logMax) / 2;
+        this.pageCountSigma = (logMax - logMin) / 6;
+    }
+
+    public DatasetSpec spec() {
+        return spec;
+    }
+
+    public int partitions() {
+        return spec.partitions();
+    }
+
+    public Partition partition(int index) {
+        if (index < 0 || index >= spec.partitions()) {
+            throw new IndexOutOfBoundsException("Partition " + index + " of " + spec.partitions());
+        }
+        long perPartition = (long) spec.books() / spec.partitions();
+        long remainder = (long) spec.books() % spec.partitions();
+        long first = index * perPartition + Math.min(index, remainder);
+        long count = perPartition + (index < remainder ? 1 : 0);
+        return new Partition(index, (int) first + 1, (int) count);
+    }
+
+    /**
+     * Receives generated records; each author is emitted right after the book it belongs to.
+     */
+    public interface RecordSink {
+        void book(Book book) throws IOException;
+
+        void author(Author author) throws IOException;
+    }
+
+    public final class Partition {
+
+        private final int index;
+        private final int firstBookId;
+        private final int books;
+        private long authors;
+
+        private Partition(int index, int firstBookId, int books) {
+            this.index = index;
+            this.firstBookId = firstBookId;
+            this.books = books;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int books() {
+            return books;
+        }
+
+        public long authors() {
+            return authors;
+        }
+
+        public void generate(RecordSink sink) throws IOException {
+            StringBuilder text = new StringBuilder(512);
+            int maxAuthors = spec.authorsPerBook().max();
+
+            for (int id = firstBookId; id < firstBookId + books; id++) {
+                SplittableRandom random = new SplittableRandom(spec.seed() * SEED_MIX + id);
+                sink.book(book(random, text, id));
+
+                int authorCount = between(random, spec.authorsPerBook());
+                for (int n = 1; n <= authorCount; n++) {
+                    sink.author(author(random, (id - 1) * maxAuthors + n, id));
+                }
+                authors += authorCount;
+            }
+        }
+    }
+
+    private Book book(SplittableRandom random, StringBuilder text, int id) {
+        String title = words(random, text, between(random, spec.titleWords()), true);
+        String description = words(random, text, between(random, spec.descriptionWords()), false);
+        return Book.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .pageCount(pageCount(random))
+                .excerpt(description.length() > 80 ? description.substring(0, 80) : description)
+                .publishDate(publishDate(random))
+                .build();
+    }
+
+    private static Author author(SplittableRandom random, int id, int idBook) {
+        return Author.builder()
+                .id(id)
+                .idBook(idBook)
+                .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                .lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                .build();
+    }
+
+    private static String words(SplittableRandom random, StringBuilder text, int count, boolean capitalise) {
+        text.setLength(0);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) text.append(' ');
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (capitalise) {
+                text.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                text.append(word);
+            }
+        }
+        return text.toString();
+    }
+
+    private int pageCount(SplittableRandom random) {
+        double gaussian = gaussian(random);
+        long value = Math.round(Math.exp(pageCountMu + pageCountSigma * gaussian));
+        return (int) Math.max(spec.pageCount().min(), Math.min(spec.pageCount().max(), value));
+    }
+
+    private String publishDate(SplittableRandom random) {
+        long day = firstDay + random.nextLong(days);
+        int secondOfDay = random.nextInt(86_400);
+        return OffsetDateTime.of(LocalDate.ofEpochDay(day).atStartOfDay(), ZoneOffset.UTC)
+                .plusSeconds(secondOfDay)
+                .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    private static int between(SplittableRandom random, DatasetSpec.IntRange range) {
+        return range.min() == range.max() ? range.min() : random.nextInt(range.min(), range.max() + 1);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
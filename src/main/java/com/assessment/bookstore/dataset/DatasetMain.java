@@ -0,0 +1,82 @@
+package com.assessment.bookstore.dataset;
+
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.server.LocalBookstoreServer;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the {@code DATASET_*} dataset, one thread per partition, into NDJSON files under
+ * {@code DATASET_OUTPUT} or, with {@code DATASET_SINK=api}, straight into the API.
+ */
+public final class DatasetMain {
+
+    private DatasetMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetSpec spec = DatasetSpec.fromConfig();
+        DatasetGenerator generator = new DatasetGenerator(spec);
+        boolean toApi = "api".equalsIgnoreCase(TestConfig.datasetSink());
+        Path dir = Paths.get(TestConfig.datasetOutput()).toAbsolutePath();
+
+        System.out.printf("Dataset: %d books, seed %d, %d partitions -> %s%n",
+                spec.books(), spec.seed(), spec.partitions(), toApi ? TestConfig.baseUrl() : dir);
+
+        if (!toApi) clearPartitionFiles(dir);
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(spec.partitions());
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int p = 0; p < spec.partitions(); p++) {
+                DatasetGenerator.Partition partition = generator.partition(p);
+                results.add(executor.submit(() -> toApi ? sendToApi(partition) : writeFile(partition, dir)));
+            }
+
+            long books = 0, authors = 0, failures = 0;
+            for (Future<long[]> result : results) {
+                long[] counts = result.get();
+                books += counts[0];
+                authors += counts[1];
+                failures += counts[2];
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Dataset: %d books and %d authors in %.1f s (%.0f records/s)%s%n",
+                    books, authors, seconds, (books + authors) / seconds,
+                    toApi ? ", " + failures + " failed requests" : "");
+        } finally {
+            executor.shutdownNow();
+            LocalBookstoreServer.stopShared();
+        }
+    }
+
+    private static void clearPartitionFiles(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(dir, "{books,authors}-*.ndjson")) {
+            for (Path file : stale) Files.delete(file);
+        }
+    }
+
+    private static long[] writeFile(DatasetGenerator.Partition partition, Path dir) throws Exception {
+        try (NdjsonSink sink = new NdjsonSink(dir, partition.index())) {
+            partition.generate(sink);
+        }
+        return new long[]{partition.books(), partition.authors(), 0};
+    }
+
+    private static long[] sendToApi(DatasetGenerator.Partition partition) throws Exception {
+        ApiSink sink = new ApiSink();
+        partition.generate(sink);
+        return new long[]{partition.books(), partition.authors(), sink.failures()};
+    }
+}
@@ -0,0 +1,66 @@
+package com.assessment.bookstore.dataset;
+
+import com.assessment.bookstore.config.TestConfig;
+
+/**
+ * Shape of a generated dataset. Lengths and author counts are drawn uniformly from their ranges, page counts from a
+ * log-normal distribution centred on the geometric mean of {@code pageCount} and clamped to it, and publish dates
+ * uniformly between the first and last day of {@code publishYears}.
+ */
+public record DatasetSpec(long seed,
+                          int books,
+                          int partitions,
+                          IntRange titleWords,
+                          IntRange descriptionWords,
+                          IntRange pageCount,
+                          IntRange publishYears,
+                          IntRange authorsPerBook) {
+
+    public DatasetSpec {
+        if (books < 0) throw new IllegalArgumentException("books must be >= 0: " + books);
+        if (partitions < 1) throw new IllegalArgumentException("partitions must be >= 1: " + partitions);
+        if (titleWords.min() < 1) throw new IllegalArgumentException("titles need at least one word: " + titleWords);
+        if (pageCount.min() < 1) throw new IllegalArgumentException("pageCount must be positive: " + pageCount);
+        if ((long) books * authorsPerBook.max() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("books * authorsPerBook.max exceeds the int id space");
+        }
+    }
+
+    public static DatasetSpec fromConfig() {
+        int partitions = TestConfig.datasetPartitions();
+        return new DatasetSpec(
+                TestConfig.datasetSeed(),
+                TestConfig.datasetBooks(),
+                partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors(),
+                IntRange.parse(TestConfig.datasetTitleWords()),
+                IntRange.parse(TestConfig.datasetDescriptionWords()),
+                IntRange.parse(TestConfig.datasetPageCount()),
+                IntRange.parse(TestConfig.datasetPublishYears()),
+                IntRange.parse(TestConfig.datasetAuthorsPerBook()));
+    }
+
+    public record IntRange(int min, int max) {
+
+        public IntRange {
+            if (min > max) throw new IllegalArgumentException("Empty range " + min + "-" + max);
+        }
+
+        public static IntRange parse(String value) {
+            String v = value.trim();
+            int dash = v.indexOf('-', 1);
+            try {
+                return dash < 0
+                        ? new IntRange(Integer.parseInt(v), Integer.parseInt(v))
+                        : new IntRange(Integer.parseInt(v.substring(0, dash).trim()),
+                        Integer.parseInt(v.substring(dash + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected a range like 1-8, got '" + value + "'", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return min + "-" + max;
+        }
+    }
+}
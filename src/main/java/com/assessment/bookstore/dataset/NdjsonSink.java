@@ -0,0 +1,73 @@
+package com.assessment.bookstore.dataset;
+
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes one partition as {@code books-<n>.ndjson} and {@code authors-<n>.ndjson} through buffered file channels.
+ */
+public final class NdjsonSink implements DatasetGenerator.RecordSink, Closeable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter BOOK_WRITER =
+            MAPPER.writerFor(Book.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final ObjectWriter AUTHOR_WRITER =
+            MAPPER.writerFor(Author.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final JsonGenerator books;
+    private final JsonGenerator authors;
+
+    public NdjsonSink(Path dir, int partition) throws IOException {
+        Files.createDirectories(dir);
+        this.books = generator(dir.resolve("books-" + partition + ".ndjson"));
+        this.authors = generator(dir.resolve("authors-" + partition + ".ndjson"));
+    }
+
+    private static JsonGenerator generator(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        JsonGenerator generator = MAPPER.getFactory()
+                .createGenerator(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES));
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        return generator;
+    }
+
+    @Override
+    public void book(Book book) throws IOException {
+        BOOK_WRITER.writeValue(books, book);
+    }
+
+    @Override
+    public void author(Author author) throws IOException {
+        AUTHOR_WRITER.writeValue(authors, author);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (JsonGenerator b = books; JsonGenerator a = authors) {
+            endLine(b);
+            endLine(a);
+        }
+    }
+
+    private static void endLine(JsonGenerator generator) throws IOException {
+        if (generator.getOutputContext().getEntryCount() > 0) {
+            generator.writeRaw('\n');
+        }
+    }
+}
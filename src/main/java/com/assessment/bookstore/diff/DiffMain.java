@@ -0,0 +1,209 @@
+package com.assessment.bookstore.diff;
+
+import com.assessment.bookstore.client.ApiClient;
+import com.assessment.bookstore.client.AsyncApiClient;
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.diff.FingerprintDiff.Change;
+import com.assessment.bookstore.diff.FingerprintDiff.Result;
+import com.assessment.bookstore.server.LocalBookstoreServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares {@code DIFF_COLLECTIONS} between {@code DIFF_BEFORE} and {@code DIFF_AFTER} and exits non-zero when
+ * they differ. A side is an environment, fetched live, or {@code snapshot:<name>}, read from
+ * {@code DIFF_SNAPSHOT_DIR/<name>}. A live side replaces the snapshot {@code DIFF_SNAPSHOT_DIR/<env>} only when
+ * its collection is identical on both sides or had nothing to compare against, so a difference keeps failing until
+ * it is fixed or accepted with {@code DIFF_SAVE_AS}, which saves the {@code DIFF_AFTER} side under that name
+ * either way. By default {@code ENV} is compared with its previous snapshot.
+ */
+public final class DiffMain {
+
+    private static final String SNAPSHOT = "snapshot:";
+    private static final String SUFFIX = ".fp";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private DiffMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String after = TestConfig.diffAfter().isBlank() ? TestConfig.env() : TestConfig.diffAfter().trim();
+        String before = TestConfig.diffBefore().isBlank() ? SNAPSHOT + after : TestConfig.diffBefore().trim();
+        List<String> collections = new ArrayList<>();
+        for (String collection : TestConfig.diffCollections().split(",")) {
+            if (!collection.isBlank()) collections.add(collection.trim());
+        }
+        System.out.printf("Fingerprint diff: %s -> %s, collections %s%n", before, after, collections);
+
+        ExecutorService executor = Executors.newFixedThreadPool(collections.size() * 2);
+        try {
+            Map<String, Future<Side>> befores = new LinkedHashMap<>();
+            Map<String, Future<Side>> afters = new LinkedHashMap<>();
+            for (String collection : collections) {
+                befores.put(collection, executor.submit(() -> side(before, collection)));
+                afters.put(collection, executor.submit(() -> side(after, collection)));
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            boolean differs = false;
+            List<Side> unchanged = new ArrayList<>();
+            List<Side> saveAs = new ArrayList<>();
+            for (String collection : collections) {
+                Side b = befores.get(collection).get();
+                Side a = afters.get(collection).get();
+                if (a.live()) saveAs.add(a);
+                if (b.fingerprints() == null || a.fingerprints() == null) {
+                    if (a.live()) unchanged.add(a);
+                    if (b.live()) unchanged.add(b);
+                    System.out.printf("%s: no stored fingerprints for %s, nothing to compare%n", collection,
+                            b.fingerprints() == null ? before : after);
+                    continue;
+                }
+
+                long start = System.nanoTime();
+                Result result = FingerprintDiff.compare(b.fingerprints(), a.fingerprints());
+                double compareMs = (System.nanoTime() - start) / 1e6;
+                print(collection, b, a, result, compareMs);
+                details(collection, b, a, result);
+                report.put(collection, report(b, a, result, compareMs));
+                if (result.identical()) {
+                    if (a.live()) unchanged.add(a);
+                    if (b.live()) unchanged.add(b);
+                } else {
+                    differs = true;
+                }
+            }
+
+            for (Side side : unchanged) {
+                side.fingerprints().save(snapshotFile(side.name(), side.collection()));
+            }
+            if (!TestConfig.diffSaveAs().isBlank()) {
+                for (Side side : saveAs) {
+                    side.fingerprints().save(snapshotFile(TestConfig.diffSaveAs().trim(), side.collection()));
+                }
+            }
+            Path file = Paths.get(System.getProperty("user.dir"), "build", "reports", "diff", "fingerprint-diff.json");
+            Files.createDirectories(file.getParent());
+            MAPPER.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+
+            if (differs) {
+                System.out.printf("Fingerprint diff: %s and %s differ, see %s%n", before, after, file);
+                if (TestConfig.diffSaveAs().isBlank()) {
+                    System.out.printf("Fingerprint diff: snapshots of differing collections kept; accept %s with "
+                            + "-DDIFF_SAVE_AS=%s%n", after, after);
+                }
+                System.exit(1);
+            }
+        } finally {
+            executor.shutdownNow();
+            LocalBookstoreServer.stopShared();
+        }
+    }
+
+    private static Side side(String spec, String collection) throws Exception {
+        long start = System.nanoTime();
+        if (spec.startsWith(SNAPSHOT)) {
+            Path file = snapshotFile(spec.substring(SNAPSHOT.length()), collection);
+            Fingerprints fingerprints = Files.exists(file) ? Fingerprints.load(file) : null;
+            return new Side(spec, collection, false, fingerprints, (System.nanoTime() - start) / 1e6);
+        }
+        ApiClient.useEnv(spec);
+        try (InputStream in = AsyncApiClient.stream("/" + collection)) {
+            return new Side(spec, collection, true, Fingerprinter.read(in), (System.nanoTime() - start) / 1e6);
+        } finally {
+            ApiClient.useEnv(null);
+        }
+    }
+
+    private static Path snapshotFile(String name, String collection) {
+        return Paths.get(TestConfig.diffSnapshotDir(), name, collection + SUFFIX);
+    }
+
+    private static void print(String collection, Side before, Side after, Result result, double compareMs) {
+        Map<String, Integer> byField = new TreeMap<>();
+        for (Change change : result.changed()) {
+            change.fields().forEach(field -> byField.merge(field, 1, Integer::sum));
+        }
+        System.out.printf("%s: %d -> %d records (%s %.0f ms, %s %.0f ms, compared in %.1f ms): "
+                        + "%d added, %d removed, %d changed%s%n",
+                collection, result.beforeCount(), result.afterCount(), before.name(), before.millis(),
+                after.name(), after.millis(), compareMs, result.added().length, result.removed().length,
+                result.changed().size(), byField.isEmpty() ? "" : " " + byField);
+        if (result.beforeDuplicates() + result.afterDuplicates() > 0) {
+            System.out.printf("%s: duplicate ids ignored, %d before, %d after%n",
+                    collection, result.beforeDuplicates(), result.afterDuplicates());
+        }
+    }
+
+    /**
+     * Field values of the first {@code DIFF_DETAIL_LIMIT} changed records, when both sides can be fetched.
+     */
+    private static void details(String collection, Side before, Side after, Result result) {
+        if (!before.live() || !after.live()) return;
+        int limit = Math.min(TestConfig.diffDetailLimit(), result.changed().size());
+        for (Change change : result.changed().subList(0, limit)) {
+            JsonNode b = record(before.name(), collection, change.id());
+            JsonNode a = record(after.name(), collection, change.id());
+            for (String field : change.fields()) {
+                System.out.printf("  %s/%d %s: %s -> %s%n", collection, change.id(), field, field(b, field),
+                        field(a, field));
+            }
+        }
+    }
+
+    private static JsonNode record(String env, String collection, long id) {
+        ApiClient.useEnv(env);
+        try {
+            return MAPPER.readTree(ApiClient.givenApi().get("/" + collection + "/" + id).asString());
+        } catch (Exception e) {
+            return null;
+        } finally {
+            ApiClient.useEnv(null);
+        }
+    }
+
+    private static JsonNode field(JsonNode record, String field) {
+        if (record == null) return null;
+        for (Iterator<Map.Entry<String, JsonNode>> it = record.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            if (entry.getKey().toLowerCase(Locale.ROOT).equals(field)) return entry.getValue();
+        }
+        return null;
+    }
+
+    private static Map<String, Object> report(Side before, Side after, Result result, double compareMs) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("before", before.name());
+        row.put("after", after.name());
+        row.put("beforeCount", result.beforeCount());
+        row.put("afterCount", result.afterCount());
+        row.put("beforeDuplicates", result.beforeDuplicates());
+        row.put("afterDuplicates", result.afterDuplicates());
+        row.put("beforeMillis", Math.round(before.millis()));
+        row.put("afterMillis", Math.round(after.millis()));
+        row.put("compareMillis", Math.round(compareMs * 10) / 10.0);
+        row.put("added", result.added());
+        row.put("removed", result.removed());
+        row.put("changed", result.changed());
+        return row;
+    }
+
+    private record Side(String name, String collection, boolean live, Fingerprints fingerprints, double millis) {
+    }
+}
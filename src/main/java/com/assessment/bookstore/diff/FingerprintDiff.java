@@ -0,0 +1,82 @@
+package com.assessment.bookstore.diff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares two {@link Fingerprints} in one merge pass over their sorted ids. Only records whose record hash
+ * differs are compared field by field, and only by field hash.
+ */
+public final class FingerprintDiff {
+
+    private FingerprintDiff() {
+    }
+
+    /**
+     * @param before the previous release, snapshot or reference environment
+     * @param after  the candidate; ids only here are {@code added}, ids only in {@code before} are {@code removed}
+     */
+    public static Result compare(Fingerprints before, Fingerprints after) {
+        Set<String> fieldSet = new LinkedHashSet<>(before.fields());
+        fieldSet.addAll(after.fields());
+        fieldSet.remove("id");
+        List<String> fields = List.copyOf(fieldSet);
+
+        LongList added = new LongList();
+        LongList removed = new LongList();
+        List<Change> changed = new ArrayList<>();
+        int i = 0, j = 0;
+        while (i < before.size() || j < after.size()) {
+            if (j == after.size() || (i < before.size() && before.id(i) < after.id(j))) {
+                removed.add(before.id(i++));
+            } else if (i == before.size() || after.id(j) < before.id(i)) {
+                added.add(after.id(j++));
+            } else {
+                if (before.hash(i) != after.hash(j)) {
+                    changed.add(new Change(before.id(i), changedFields(before, i, after, j, fields)));
+                }
+                i++;
+                j++;
+            }
+        }
+        return new Result(before.size(), after.size(), added.toArray(), removed.toArray(), changed,
+                before.duplicates(), after.duplicates());
+    }
+
+    private static List<String> changedFields(Fingerprints before, int i, Fingerprints after, int j,
+                                              List<String> fields) {
+        List<String> changed = new ArrayList<>();
+        for (String field : fields) {
+            if (before.fieldHash(i, field) != after.fieldHash(j, field)) changed.add(field);
+        }
+        return changed;
+    }
+
+    public record Result(int beforeCount, int afterCount, long[] added, long[] removed, List<Change> changed,
+                         int beforeDuplicates, int afterDuplicates) {
+
+        public boolean identical() {
+            return added.length == 0 && removed.length == 0 && changed.isEmpty();
+        }
+    }
+
+    public record Change(long id, List<String> fields) {
+    }
+
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.assessment.bookstore.diff;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams a JSON array (or NDJSON) of {@code Book}/{@code Author} records into {@link Fingerprints} keyed by
+ * {@code id}, without building the records.
+ * <p>
+ * Values are normalised before hashing: field names ignore case, strings are trimmed, timestamps compare as
+ * instants ({@code 2024-01-01T00:00:00Z} equals {@code 2024-01-01T01:00:00.000+01:00}), {@code 5.0} equals
+ * {@code 5}, and a null field equals a missing one. Strings hash with 64-bit FNV-1a over their chars, and every
+ * hash is finished with the MurmurHash3 {@code fmix64} mixer. The record hash is the sum of its mixed field hashes,
+ * so field order does not matter.
+ */
+public final class Fingerprinter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+    private static final long TRUE = 0x5bd1e9955bd1e995L;
+    private static final long FALSE = 0x1b873593cc9e2d51L;
+    private static final long INTEGER = 1, DECIMAL = 2, STRING = 3, INSTANT = 4, OBJECT = 5, ARRAY = 6;
+
+    private Fingerprinter() {
+    }
+
+    public static Fingerprints read(InputStream in) throws IOException {
+        Fingerprints.Builder builder = new Fingerprints.Builder();
+        try (JsonParser parser = MAPPER.createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) token = parser.nextToken();
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a JSON object at " + parser.currentLocation());
+                }
+                readRecord(parser, builder);
+                token = parser.nextToken();
+            }
+        }
+        return builder.build();
+    }
+
+    private static void readRecord(JsonParser parser, Fingerprints.Builder builder) throws IOException {
+        long id = 0;
+        boolean hasId = false;
+        long hash = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int column = builder.column(parser.currentName());
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) continue;
+            if (builder.isId(column)) {
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_STRING) {
+                    id = token == JsonToken.VALUE_NUMBER_INT
+                            ? parser.getLongValue()
+                            : Long.parseLong(parser.getText().trim());
+                    hasId = true;
+                } else {
+                    parser.skipChildren();
+                }
+                continue;
+            }
+            long value = value(parser, token);
+            if (value == 0) value = 1;
+            builder.field(column, value);
+            hash += mix(builder.nameHash(column) + value * GOLDEN);
+        }
+        if (hasId) {
+            builder.add(id, hash);
+        } else {
+            builder.discard();
+        }
+    }
+
+    private static long value(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> string(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? decimal(parser.getDecimalValue())
+                    : mix(INTEGER * GOLDEN ^ parser.getLongValue());
+            case VALUE_NUMBER_FLOAT -> decimal(parser.getDecimalValue());
+            case VALUE_TRUE -> TRUE;
+            case VALUE_FALSE -> FALSE;
+            case START_OBJECT, START_ARRAY -> node(parser.readValueAsTree());
+            default -> throw new IOException("Unexpected " + token + " at " + parser.currentLocation());
+        };
+    }
+
+    private static long decimal(BigDecimal value) {
+        BigDecimal normalised = value.stripTrailingZeros();
+        if (normalised.scale() <= 0 && normalised.precision() - normalised.scale() < 19) {
+            return mix(INTEGER * GOLDEN ^ normalised.longValueExact());
+        }
+        String text = normalised.toPlainString();
+        return mix(DECIMAL * GOLDEN ^ fnv(text.toCharArray(), 0, text.length()));
+    }
+
+    private static long string(char[] chars, int offset, int length) {
+        int start = offset, end = offset + length;
+        while (start < end && Character.isWhitespace(chars[start])) start++;
+        while (end > start && Character.isWhitespace(chars[end - 1])) end--;
+        if (looksLikeTimestamp(chars, start, end)) {
+            long instant = instant(chars, start, end);
+            if (instant != 0) return instant;
+            try {
+                OffsetDateTime time = OffsetDateTime.parse(new String(chars, start, end - start));
+                return instant(time.toEpochSecond(), time.getNano());
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+        return mix(STRING * GOLDEN ^ fnv(chars, start, end - start));
+    }
+
+    private static boolean looksLikeTimestamp(char[] chars, int start, int end) {
+        return end - start >= 20 && chars[start + 4] == '-' && chars[start + 7] == '-' && chars[start + 10] == 'T'
+                && Character.isDigit(chars[start]);
+    }
+
+    private static long instant(long epochSecond, int nano) {
+        return mix(INSTANT * GOLDEN ^ mix(epochSecond) ^ nano);
+    }
+
+    /**
+     * {@code yyyy-MM-ddTHH:mm:ss[.fraction](Z|+HH:MM)} without going through {@code DateTimeFormatter}, which would
+     * dominate the cost of a record; {@code 0} for anything else, including dates such as {@code 2024-02-31} that
+     * {@link OffsetDateTime} rejects too.
+     */
+    private static long instant(char[] c, int start, int end) {
+        int year = digits(c, start, 4), month = digits(c, start + 5, 2), day = digits(c, start + 8, 2);
+        int hour = digits(c, start + 11, 2), minute = digits(c, start + 14, 2), second = digits(c, start + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || c[start + 13] != ':' || c[start + 16] != ':') {
+            return 0;
+        }
+        int pos = start + 19;
+        int nano = 0;
+        if (pos < end && c[pos] == '.') {
+            int scale = 0;
+            for (pos++; pos < end && c[pos] >= '0' && c[pos] <= '9'; pos++) {
+                if (scale++ < 9) nano = nano * 10 + (c[pos] - '0');
+            }
+            if (scale == 0) return 0;
+            for (; scale < 9; scale++) nano *= 10;
+        }
+        int offsetSeconds;
+        if (pos == end - 1 && c[pos] == 'Z') {
+            offsetSeconds = 0;
+        } else if (pos == end - 6 && (c[pos] == '+' || c[pos] == '-') && c[pos + 3] == ':') {
+            int h = digits(c, pos + 1, 2), m = digits(c, pos + 4, 2);
+            if (h < 0 || m < 0) return 0;
+            offsetSeconds = (c[pos] == '-' ? -1 : 1) * (h * 3600 + m * 60);
+        } else {
+            return 0;
+        }
+        long days = epochDay(year, month, day);
+        return instant(days * 86_400 + hour * 3600 + minute * 60 + second - offsetSeconds, nano);
+    }
+
+    private static int digits(char[] c, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            if (c[i] < '0' || c[i] > '9') return -1;
+            value = value * 10 + (c[i] - '0');
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date (Hinnant's {@code days_from_civil}).
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static long node(JsonNode node) {
+        if (node.isObject()) {
+            long hash = OBJECT;
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (field.getValue().isNull()) continue;
+                String name = field.getKey().toLowerCase(Locale.ROOT);
+                hash += mix(fnv(name.toCharArray(), 0, name.length()) + node(field.getValue()) * GOLDEN);
+            }
+            return mix(hash);
+        }
+        if (node.isArray()) {
+            long hash = ARRAY;
+            for (JsonNode element : node) {
+                hash = mix(hash * FNV_PRIME + node(element));
+            }
+            return hash;
+        }
+        if (node.isTextual()) {
+            String text = node.textValue();
+            return string(text.toCharArray(), 0, text.length());
+        }
+        if (node.isIntegralNumber() || node.isFloatingPointNumber()) return decimal(node.decimalValue());
+        if (node.isBoolean()) return node.booleanValue() ? TRUE : FALSE;
+        return 0;
+    }
+
+    static long fnv(char[] chars, int offset, int length) {
+        long hash = FNV_OFFSET;
+        for (int i = offset; i < offset + length; i++) {
+            hash ^= chars[i];
+            hash *= FNV_PRIME;
+        }
+        return mix(hash ^ length);
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
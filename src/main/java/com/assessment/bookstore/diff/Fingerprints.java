@@ -0,0 +1,254 @@
+package com.assessment.bookstore.diff;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * 64-bit fingerprints of a list of records, sorted by id: one hash per record and one per field, held in primitive
+ * columns (8 bytes per value, no per-record objects) and compared with a single merge pass.
+ * <p>
+ * A file is the magic {@code "BKF1"}, the record, duplicate and field counts, the field names, then the id column,
+ * the record hash column and one column per field. A field hash of {@code 0} means the field is missing or null.
+ */
+public final class Fingerprints {
+
+    private static final int MAGIC = 0x424B4631; // "BKF1"
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final long[] ids;
+    private final long[] hashes;
+    private final List<String> fields;
+    private final long[][] columns;
+    private final int duplicates;
+    private final Map<String, Integer> fieldIndex = new HashMap<>();
+
+    private Fingerprints(long[] ids, long[] hashes, List<String> fields, long[][] columns, int duplicates) {
+        this.ids = ids;
+        this.hashes = hashes;
+        this.fields = List.copyOf(fields);
+        this.columns = columns;
+        this.duplicates = duplicates;
+        for (int i = 0; i < fields.size(); i++) {
+            fieldIndex.put(fields.get(i), i);
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int record) {
+        return ids[record];
+    }
+
+    public long hash(int record) {
+        return hashes[record];
+    }
+
+    /**
+     * Field names, lower-cased, in the order they were first seen.
+     */
+    public List<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Hash of {@code field} in {@code record}, or {@code 0} when the record does not have it.
+     */
+    public long fieldHash(int record, String field) {
+        Integer column = fieldIndex.get(field);
+        return column == null ? 0 : columns[column][record];
+    }
+
+    /**
+     * Records dropped because an earlier record had the same id; the last one wins.
+     */
+    public int duplicates() {
+        return duplicates;
+    }
+
+    public int indexOf(long id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), BUFFER_BYTES))) {
+            out.writeInt(MAGIC);
+            out.writeInt(ids.length);
+            out.writeInt(duplicates);
+            out.writeInt(fields.size());
+            for (String field : fields) {
+                out.writeUTF(field);
+            }
+            write(out, ids);
+            write(out, hashes);
+            for (long[] column : columns) {
+                write(out, column);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Fingerprints load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER_BYTES))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a fingerprint file");
+            }
+            int size = in.readInt();
+            int duplicates = in.readInt();
+            List<String> fields = new ArrayList<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                fields.add(in.readUTF());
+            }
+            long[] ids = read(in, size);
+            long[] hashes = read(in, size);
+            long[][] columns = new long[fields.size()][];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = read(in, size);
+            }
+            return new Fingerprints(ids, hashes, fields, columns, duplicates);
+        }
+    }
+
+    private static void write(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private static long[] read(DataInputStream in, int size) throws IOException {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    /**
+     * Collects records in arrival order; {@link #build()} sorts them by id.
+     */
+    static final class Builder {
+
+        private long[] ids = new long[1024];
+        private long[] hashes = new long[1024];
+        private final List<String> fields = new ArrayList<>();
+        private final List<Long> nameHashes = new ArrayList<>();
+        private final List<long[]> columns = new ArrayList<>();
+        private final Map<String, Integer> byRawName = new HashMap<>();
+        private final Map<String, Integer> byName = new HashMap<>();
+        private int size;
+
+        /**
+         * Column of a field name as it appears in the JSON; names that differ only in case share a column.
+         */
+        int column(String rawName) {
+            Integer column = byRawName.get(rawName);
+            if (column == null) {
+                String name = rawName.toLowerCase(Locale.ROOT);
+                column = byName.computeIfAbsent(name, k -> {
+                    fields.add(k);
+                    nameHashes.add(Fingerprinter.fnv(k.toCharArray(), 0, k.length()));
+                    columns.add(new long[ids.length]);
+                    return fields.size() - 1;
+                });
+                byRawName.put(rawName, column);
+            }
+            return column;
+        }
+
+        boolean isId(int column) {
+            return fields.get(column).equals("id");
+        }
+
+        long nameHash(int column) {
+            return nameHashes.get(column);
+        }
+
+        void field(int column, long hash) {
+            columns.get(column)[size] = hash;
+        }
+
+        void add(long id, long hash) {
+            ids[size] = id;
+            hashes[size] = hash;
+            size++;
+            if (size == ids.length) grow();
+        }
+
+        /**
+         * Forgets the field hashes of a record that turned out to have no id.
+         */
+        void discard() {
+            for (long[] column : columns) {
+                column[size] = 0;
+            }
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            for (int i = 0; i < columns.size(); i++) {
+                columns.set(i, Arrays.copyOf(columns.get(i), capacity));
+            }
+        }
+
+        Fingerprints build() {
+            int[] order = sorted() ? null : IntStream.range(0, size).boxed()
+                    .sorted(Comparator.comparingLong(i -> ids[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            int unique = 0;
+            int[] keep = new int[size];
+            for (int i = 0; i < size; i++) {
+                int record = order == null ? i : order[i];
+                if (unique > 0 && ids[keep[unique - 1]] == ids[record]) {
+                    keep[unique - 1] = record;
+                } else {
+                    keep[unique++] = record;
+                }
+            }
+
+            long[][] sortedColumns = new long[columns.size()][];
+            for (int c = 0; c < sortedColumns.length; c++) {
+                sortedColumns[c] = pick(columns.get(c), keep, unique);
+            }
+            return new Fingerprints(pick(ids, keep, unique), pick(hashes, keep, unique), fields, sortedColumns,
+                    size - unique);
+        }
+
+        private boolean sorted() {
+            for (int i = 1; i < size; i++) {
+                if (ids[i - 1] > ids[i]) return false;
+            }
+            return true;
+        }
+
+        private static long[] pick(long[] values, int[] keep, int count) {
+            long[] picked = new long[count];
+            for (int i = 0; i < count; i++) {
+                picked[i] = values[keep[i]];
+            }
+            return picked;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.assessment.bookstore.load;
+
+import com.assessment.bookstore.client.AuthorsClient;
+import com.assessment.bookstore.client.BooksClient;
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+import com.assessment.bookstore.util.IdAllocator;
+import io.restassured.response.Response;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What the load operations work on. Reads pick from the ids the server listed at warm-up. Updates and deletes pick a
+ * random record created during the run; with none live they are skipped rather than sent to an id that does not
+ * exist.
+ */
+public final class LoadContext {
+
+    private static final int LIVE_IDS = 10_000;
+
+    private final BooksClient books = new BooksClient();
+    private final AuthorsClient authors = new AuthorsClient();
+
+    private final IdAllocator ids = IdAllocator.shared();
+    private final LiveIds createdBooks = new LiveIds(LIVE_IDS);
+    private final LiveIds createdAuthors = new LiveIds(LIVE_IDS);
+    private volatile int[] existingBooks;
+    private volatile int[] existingAuthors;
+
+    public BooksClient books() {
+        return books;
+    }
+
+    public AuthorsClient authors() {
+        return authors;
+    }
+
+    /**
+     * Lists the Books and Authors the server has before the run; the read operations pick from them.
+     */
+    void loadExistingIds() {
+        existingBooks = listedIds(books.getAll(), "GET /Books");
+        existingAuthors = listedIds(authors.getAll(), "GET /Authors");
+    }
+
+    int existingBookId() {
+        return pick(existingBooks);
+    }
+
+    int existingAuthorId() {
+        return pick(existingAuthors);
+    }
+
+    Response createBook() {
+        int id = ids.nextId();
+        Response response = books.create(book(id));
+        if (response.getStatusCode() == 200) {
+            createdBooks.add(id);
+        }
+        return response;
+    }
+
+    /**
+     * Updates a random Book created during the run, or returns {@code null} when there is none.
+     */
+    Response updateBook() {
+        Integer id = createdBooks.take();
+        if (id == null) return null;
+        try {
+            return books.update(id, book(id));
+        } finally {
+            createdBooks.add(id);
+        }
+    }
+
+    /**
+     * Deletes a random Book created during the run, or returns {@code null} when there is none.
+     */
+    Response deleteBook() {
+        Integer id = createdBooks.take();
+        return id == null ? null : books.delete(id);
+    }
+
+    Response createAuthor() {
+        int id = ids.nextId();
+        Response response = authors.create(author(id));
+        if (response.getStatusCode() == 200) {
+            createdAuthors.add(id);
+        }
+        return response;
+    }
+
+    Response updateAuthor() {
+        Integer id = createdAuthors.take();
+        if (id == null) return null;
+        try {
+            return authors.update(id, author(id));
+        } finally {
+            createdAuthors.add(id);
+        }
+    }
+
+    Response deleteAuthor() {
+        Integer id = createdAuthors.take();
+        return id == null ? null : authors.delete(id);
+    }
+
+    private static int[] listedIds(Response response, String request) {
+        if (response.getStatusCode() != 200) {
+            throw new IllegalStateException(request + " returned " + response.getStatusLine() + "; no ids to read");
+        }
+        List<Integer> listed = response.jsonPath().getList("id", Integer.class);
+        if (listed.isEmpty()) {
+            throw new IllegalStateException(request + " returned no records; nothing to read under load");
+        }
+        return listed.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int pick(int[] ids) {
+        if (ids == null) throw new IllegalStateException("loadExistingIds() has not run");
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private Book book(int id) {
+        return Book.builder()
+                .id(id)
+                .title("Load " + id)
+                .description("Load test book")
+                .pageCount(100)
+                .excerpt("Excerpt")
+                .publishDate(OffsetDateTime.now().toString())
+                .build();
+    }
+
+    private Author author(int id) {
+        return Author.builder()
+                .id(id)
+                .idBook(existingBookId())
+                .firstName("Load")
+                .lastName("Author " + id)
+                .build();
+    }
+
+    /**
+     * Ids of records created during the run and not deleted yet, at most {@code capacity}; records created once it
+     * is full are left on the server. An update or delete takes its id out, so no two requests work on one record.
+     */
+    private static final class LiveIds {
+
+        private final int[] ids;
+        private int size;
+
+        LiveIds(int capacity) {
+            this.ids = new int[capacity];
+        }
+
+        synchronized void add(int id) {
+            if (size < ids.length) ids[size++] = id;
+        }
+
+        synchronized Integer take() {
+            if (size == 0) return null;
+            int i = ThreadLocalRandom.current().nextInt(size);
+            int id = ids[i];
+            ids[i] = ids[--size];
+            return id;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.assessment.bookstore.load;
+
+import com.assessment.bookstore.client.ConnectionPool;
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.server.LocalBookstoreServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are released on a fixed schedule regardless of how long earlier
+ * ones take, and latency is measured from the intended start time so that queueing is not hidden.
+ */
+public final class LoadRunner {
+
+    private static final long DRAIN_GRACE_MS = 5_000;
+
+    private final ScenarioMix mix;
+    private final int rps;
+    private final int durationSec;
+    private final int maxInFlight;
+    private final LoadContext ctx = new LoadContext();
+    private final LoadStats stats = new LoadStats();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadRunner(ScenarioMix mix, int rps, int durationSec, int maxInFlight) {
+        if (rps <= 0) throw new IllegalArgumentException("LOAD_RPS must be positive");
+        if (durationSec <= 0) throw new IllegalArgumentException("LOAD_DURATION_SEC must be positive");
+        this.mix = mix;
+        this.rps = rps;
+        this.durationSec = durationSec;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadRunner runner = new LoadRunner(
+                ScenarioMix.parse(TestConfig.loadMix()),
+                TestConfig.loadRps(),
+                TestConfig.loadDurationSec(),
+                TestConfig.loadMaxInFlight()
+        );
+        try {
+            Map<String, Map<String, Object>> summary = runner.run();
+            writeSummary(summary, Paths.get(System.getProperty("user.dir"), "build", "reports", "load", "summary.json"));
+        } finally {
+            LocalBookstoreServer.stopShared();
+        }
+    }
+
+    public Map<String, Map<String, Object>> run() throws InterruptedException {
+        System.out.printf("Load: %d rps for %d s against %s%s, mix [%s]%n",
+                rps, durationSec, TestConfig.baseUrl(), TestConfig.apiPrefix(), mix);
+
+        warmUp();
+
+        SplittableRandom random = new SplittableRandom();
+        double periodNanos = 1_000_000_000.0 / rps;
+        long total = (long) rps * durationSec;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intendedStart = start + (long) (i * periodNanos);
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation op = mix.pick(random);
+                if (inFlight.incrementAndGet() > maxInFlight) {
+                    inFlight.decrementAndGet();
+                    stats.dropped(op);
+                    continue;
+                }
+                executor.execute(() -> execute(op, intendedStart));
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(TestConfig.socketTimeoutMs() + DRAIN_GRACE_MS, TimeUnit.MILLISECONDS)) {
+                System.out.println("Load: " + inFlight.get() + " requests still in flight after drain timeout");
+                executor.shutdownNow();
+            }
+        }
+        double elapsedSec = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Map<String, Map<String, Object>> summary = stats.summary(elapsedSec);
+        printSummary(summary, elapsedSec);
+        return summary;
+    }
+
+    private void warmUp() {
+        ctx.loadExistingIds();
+        for (Operation op : Operation.values()) {
+            if (op.key().endsWith(".getById")) {
+                op.execute(ctx);
+            }
+        }
+    }
+
+    private void execute(Operation op, long intendedStart) {
+        Boolean success = false;
+        try {
+            Response response = op.execute(ctx);
+            int status = response == null ? 0 : response.getStatusCode();
+            success = response == null ? null : status >= 200 && status < 300;
+        } catch (Exception e) {
+            // counted as an error below
+        } finally {
+            if (success == null) {
+                stats.skipped(op);
+            } else {
+                stats.record(op, System.nanoTime() - intendedStart, success);
+            }
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void printSummary(Map<String, Map<String, Object>> summary, double elapsedSec) {
+        System.out.printf("%n%-38s %9s %7s %7s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors",
+                "dropped", "skipped", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        summary.forEach((endpoint, row) -> System.out.printf("%-38s %9s %7s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                endpoint, row.get("requests"), row.get("errors"), row.get("dropped"), row.get("skipped"),
+                row.get("throughputRps"),
+                row.get("p50Ms"), row.get("p90Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs")));
+        System.out.printf("elapsed: %.1f s%n", elapsedSec);
+
+        ConnectionPool.PoolMetrics pool = ConnectionPool.shared().metrics();
+        System.out.printf("http pool: %d connects for %d requests, connect mean %.1f us, max %.1f us, peak leased %d, peak pending %d%n",
+                pool.connects(), pool.requests(), pool.meanConnectMicros(), pool.maxConnectMicros(),
+                pool.peakLeased(), pool.peakPending());
+    }
+
+    private static void writeSummary(Map<String, Map<String, Object>> summary, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), summary);
+        System.out.println("Load summary written to " + file);
+    }
+}
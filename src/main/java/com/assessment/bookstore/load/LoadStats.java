@@ -0,0 +1,81 @@
+package com.assessment.bookstore.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LoadStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Endpoint> endpoints = new EnumMap<>(Operation.class);
+
+    public LoadStats() {
+        for (Operation op : Operation.values()) {
+            endpoints.put(op, new Endpoint());
+        }
+    }
+
+    public void record(Operation op, long latencyNanos, boolean success) {
+        Endpoint e = endpoints.get(op);
+        e.latencyMicros.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (!success) {
+            e.errors.increment();
+        }
+    }
+
+    public void dropped(Operation op) {
+        endpoints.get(op).dropped.increment();
+    }
+
+    /**
+     * An operation that had nothing to act on and sent no request.
+     */
+    public void skipped(Operation op) {
+        endpoints.get(op).skipped.increment();
+    }
+
+    public Map<String, Map<String, Object>> summary(double durationSec) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (Map.Entry<Operation, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint e = entry.getValue();
+            Histogram h = e.latencyMicros;
+            long count = h.getTotalCount();
+            if (count == 0 && e.dropped.sum() == 0 && e.skipped.sum() == 0) continue;
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", count);
+            row.put("errors", e.errors.sum());
+            row.put("dropped", e.dropped.sum());
+            row.put("skipped", e.skipped.sum());
+            row.put("throughputRps", round(count / durationSec));
+            row.put("p50Ms", millis(h.getValueAtPercentile(50)));
+            row.put("p90Ms", millis(h.getValueAtPercentile(90)));
+            row.put("p99Ms", millis(h.getValueAtPercentile(99)));
+            row.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+            row.put("maxMs", millis(h.getMaxValue()));
+            result.put(entry.getKey().endpoint(), row);
+        }
+        return result;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+
+    private static final class Endpoint {
+        private final Histogram latencyMicros = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+}
@@ -0,0 +1,56 @@
+package com.assessment.bookstore.load;
+
+import io.restassured.response.Response;
+
+import java.util.function.Function;
+
+public enum Operation {
+
+    BOOKS_GET_ALL("books.getAll", "GET /Books", ctx -> ctx.books().getAll()),
+    BOOKS_GET_BY_ID("books.getById", "GET /Books/{id}", ctx -> ctx.books().getById(ctx.existingBookId())),
+    BOOKS_CREATE("books.create", "POST /Books", LoadContext::createBook),
+    BOOKS_UPDATE("books.update", "PUT /Books/{id}", LoadContext::updateBook),
+    BOOKS_DELETE("books.delete", "DELETE /Books/{id}", LoadContext::deleteBook),
+
+    AUTHORS_GET_ALL("authors.getAll", "GET /Authors", ctx -> ctx.authors().getAll()),
+    AUTHORS_GET_BY_ID("authors.getById", "GET /Authors/{id}", ctx -> ctx.authors().getById(ctx.existingAuthorId())),
+    AUTHORS_GET_BY_BOOK("authors.getByBookId", "GET /Authors/authors/books/{idBook}",
+            ctx -> ctx.authors().getByBookId(ctx.existingBookId())),
+    AUTHORS_CREATE("authors.create", "POST /Authors", LoadContext::createAuthor),
+    AUTHORS_UPDATE("authors.update", "PUT /Authors/{id}", LoadContext::updateAuthor),
+    AUTHORS_DELETE("authors.delete", "DELETE /Authors/{id}", LoadContext::deleteAuthor);
+
+    private final String key;
+    private final String endpoint;
+    private final Function<LoadContext, Response> call;
+
+    Operation(String key, String endpoint, Function<LoadContext, Response> call) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.call = call;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the response, or {@code null} when there was nothing to act on, e.g. a delete with no record left
+     */
+    public Response execute(LoadContext ctx) {
+        return call.apply(ctx);
+    }
+
+    public static Operation byKey(String key) {
+        for (Operation op : values()) {
+            if (op.key.equals(key)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load operation: " + key);
+    }
+}
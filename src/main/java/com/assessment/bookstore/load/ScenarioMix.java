@@ -0,0 +1,68 @@
+package com.assessment.bookstore.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public final class ScenarioMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private ScenarioMix(Operation[] operations, int[] cumulativeWeights) {
+        this.operations = operations;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    public static ScenarioMix parse(String mix) {
+        List<Operation> ops = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] kv = entry.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry '" + entry + "', expected key=weight");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight <= 0) continue;
+            ops.add(Operation.byKey(kv[0].trim()));
+            weights.add(weight);
+        }
+        if (ops.isEmpty()) {
+            throw new IllegalArgumentException("Load mix has no operations: " + mix);
+        }
+
+        int[] cumulative = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            sum += weights.get(i);
+            cumulative[i] = sum;
+        }
+        return new ScenarioMix(ops.toArray(new Operation[0]), cumulative);
+    }
+
+    public Operation pick(RandomGenerator random) {
+        int r = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < operations.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(operations[i].key()).append('=').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return sb.toString();
+    }
+}
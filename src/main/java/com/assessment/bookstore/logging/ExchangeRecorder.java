@@ -0,0 +1,144 @@
+package com.assessment.bookstore.logging;
+
+import com.assessment.bookstore.config.TestConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps references to the last {@code HTTP_LOG_BUFFER_SIZE} exchanges of the current thread; nothing is rendered
+ * until {@link #render()} is called, typically when a test fails.
+ */
+public final class ExchangeRecorder implements Filter {
+
+    private static final int MAX_BODY_CHARS = 4_096;
+
+    private static final ThreadLocal<Ring> RING = ThreadLocal.withInitial(() -> new Ring(TestConfig.httpLogBufferSize()));
+
+    @Override
+    public Response filter(FilterableRequestSpecification request,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = ctx.next(request, responseSpec);
+            return response;
+        } finally {
+            record(request.getMethod(), request.getURI(), request.getHeaders(), request.getBody(), response,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Records an exchange that was sent without RestAssured; {@code response} is {@code null} when it failed.
+     */
+    public void record(String method, String uri, Headers requestHeaders, Object requestBody, Response response,
+                       long millis) {
+        RING.get().add(new Exchange(method, uri, requestHeaders, requestBody, response, millis));
+    }
+
+    /**
+     * Wraps {@code task}, run on another thread, so that its exchanges are recorded for the calling thread.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Ring ring = RING.get();
+        return () -> {
+            RING.set(ring);
+            try {
+                return task.get();
+            } finally {
+                RING.remove();
+            }
+        };
+    }
+
+    public static void reset() {
+        RING.get().clear();
+    }
+
+    public static List<Exchange> recent() {
+        return RING.get().snapshot();
+    }
+
+    public static String render() {
+        StringBuilder sb = new StringBuilder();
+        for (Exchange exchange : recent()) {
+            exchange.render(sb);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    public record Exchange(String method, String uri, Headers requestHeaders, Object requestBody,
+                           Response response, long millis) {
+
+        void render(StringBuilder sb) {
+            sb.append("curl -X ").append(method).append(" '").append(uri).append('\'');
+            for (Header h : requestHeaders) {
+                sb.append(" \\\n  -H '").append(h.getName()).append(": ").append(h.getValue()).append('\'');
+            }
+            if (requestBody != null) {
+                sb.append(" \\\n  --data-raw '").append(truncate(String.valueOf(requestBody))).append('\'');
+            }
+            sb.append('\n');
+
+            if (response == null) {
+                sb.append("< no response (").append(millis).append(" ms)\n");
+                return;
+            }
+            sb.append("< ").append(response.getStatusLine()).append(" (").append(millis).append(" ms)\n");
+            for (Header h : response.getHeaders()) {
+                sb.append("< ").append(h.getName()).append(": ").append(h.getValue()).append('\n');
+            }
+            byte[] body = response.asByteArray();
+            if (body.length > 0) {
+                sb.append(truncate(new String(body, StandardCharsets.UTF_8))).append('\n');
+            }
+        }
+
+        private static String truncate(String s) {
+            return s.length() > MAX_BODY_CHARS
+                    ? s.substring(0, MAX_BODY_CHARS) + "...(" + (s.length() - MAX_BODY_CHARS) + " more chars)"
+                    : s;
+        }
+    }
+
+    private static final class Ring {
+
+        private final Exchange[] entries;
+        private long next;
+
+        Ring(int capacity) {
+            this.entries = new Exchange[Math.max(1, capacity)];
+        }
+
+        synchronized void add(Exchange exchange) {
+            entries[(int) (next++ % entries.length)] = exchange;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(entries, null);
+            next = 0;
+        }
+
+        synchronized List<Exchange> snapshot() {
+            int size = (int) Math.min(next, entries.length);
+            List<Exchange> result = new ArrayList<>(size);
+            for (long i = next - size; i < next; i++) {
+                result.add(entries[(int) (i % entries.length)]);
+            }
+            return result;
+        }
+    }
+}
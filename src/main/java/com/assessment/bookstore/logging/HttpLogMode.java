@@ -0,0 +1,13 @@
+package com.assessment.bookstore.logging;
+
+/**
+ * When request/response logs are rendered.
+ */
+public enum HttpLogMode {
+    /** Every request is logged as a curl command as it is sent. */
+    ALWAYS,
+    /** Exchanges are kept in a per-thread ring buffer and rendered only for failed tests. */
+    ON_FAILURE,
+    /** Nothing is recorded. */
+    OFF
+}
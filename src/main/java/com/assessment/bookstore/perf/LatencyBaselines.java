@@ -0,0 +1,128 @@
+package com.assessment.bookstore.perf;
+
+import com.assessment.bookstore.perf.RegressionGate.Status;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+
+/**
+ * Per-suite, per-environment store of per-endpoint latency histograms, one directory per run and one file per test
+ * fork: {@code <dir>/<suite>/<env>/<runId>/<fork>.lat}. Run ids sort chronologically. A run the gate has checked
+ * also keeps its {@link Status} in {@code <runId>/verdict}.
+ * <p>
+ * A file is the magic {@code "BKL1"}, the endpoint count, then each endpoint name followed by its HdrHistogram in
+ * the compressed encoding, so a run of a few dozen endpoints takes a few kilobytes and loads without parsing text.
+ */
+public final class LatencyBaselines {
+
+    private static final int MAGIC = 0x424B4C31; // "BKL1"
+    private static final String SUFFIX = ".lat";
+    private static final String VERDICT = "verdict";
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Path envDir;
+
+    public LatencyBaselines(Path dir, String suite, String env) {
+        this.envDir = dir.resolve(suite).resolve(env);
+    }
+
+    public void store(String runId, String fork, Map<String, Histogram> histograms) throws IOException {
+        Path runDir = envDir.resolve(runId);
+        Files.createDirectories(runDir);
+        Path file = runDir.resolve(fork + SUFFIX);
+        Path tmp = runDir.resolve(fork + SUFFIX + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(histograms.size());
+            for (Map.Entry<String, Histogram> e : histograms.entrySet()) {
+                Histogram h = e.getValue();
+                ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+                int length = h.encodeIntoCompressedByteBuffer(buffer);
+                out.writeUTF(e.getKey());
+                out.writeInt(length);
+                out.write(buffer.array(), 0, length);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stored run ids, oldest first.
+     */
+    public List<String> runs() throws IOException {
+        if (!Files.isDirectory(envDir)) return List.of();
+        try (Stream<Path> dirs = Files.list(envDir)) {
+            return dirs.filter(Files::isDirectory).map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    /**
+     * Records the gate's verdict on a stored run, replacing an earlier one.
+     */
+    public void storeVerdict(String runId, Status status) throws IOException {
+        Path runDir = envDir.resolve(runId);
+        Path tmp = runDir.resolve(VERDICT + ".tmp");
+        Files.writeString(tmp, status.name());
+        Files.move(tmp, runDir.resolve(VERDICT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The gate's verdict on a run, or {@code null} when the gate has not checked it.
+     */
+    public Status verdict(String runId) throws IOException {
+        Path file = envDir.resolve(runId).resolve(VERDICT);
+        return Files.isRegularFile(file) ? Status.valueOf(Files.readString(file).trim()) : null;
+    }
+
+    /**
+     * Histograms of the given runs, merged across forks and runs.
+     */
+    public Map<String, Histogram> load(List<String> runIds) throws IOException {
+        Map<String, Histogram> merged = new TreeMap<>();
+        for (String runId : runIds) {
+            Path runDir = envDir.resolve(runId);
+            if (!Files.isDirectory(runDir)) continue;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(runDir, "*" + SUFFIX)) {
+                for (Path file : files) {
+                    read(file, merged);
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static void read(Path file, Map<String, Histogram> into) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a latency baseline file");
+            }
+            int endpoints = in.readInt();
+            for (int i = 0; i < endpoints; i++) {
+                String endpoint = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try {
+                    Histogram h = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+                    into.computeIfAbsent(endpoint, k -> new Histogram(SIGNIFICANT_DIGITS)).add(h);
+                } catch (DataFormatException e) {
+                    throw new IOException("Corrupt histogram for " + endpoint + " in " + file, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.assessment.bookstore.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Compares a run's per-endpoint latency histograms with a baseline.
+ * <p>
+ * An endpoint regresses when one of its p50/p95/p99 grew by more than {@code thresholdPct} and a one-sided
+ * two-sample Kolmogorov-Smirnov test says the whole distribution shifted towards higher latencies with
+ * significance {@code alpha}. Requiring both keeps a single slow sample from failing the gate and a large but
+ * negligible shift from passing it.
+ */
+public final class RegressionGate {
+
+    static final double[] PERCENTILES = {50, 95, 99};
+
+    private final double thresholdPct;
+    private final double alpha;
+    private final long minSamples;
+
+    public RegressionGate(double thresholdPct, double alpha, long minSamples) {
+        this.thresholdPct = thresholdPct;
+        this.alpha = alpha;
+        this.minSamples = minSamples;
+    }
+
+    public List<Verdict> compare(Map<String, Histogram> baseline, Map<String, Histogram> current) {
+        List<Verdict> verdicts = new ArrayList<>();
+        current.forEach((endpoint, cur) -> {
+            Histogram base = baseline.get(endpoint);
+            if (base == null || base.getTotalCount() < minSamples || cur.getTotalCount() < minSamples) {
+                verdicts.add(new Verdict(endpoint, Status.INSUFFICIENT_SAMPLES,
+                        base == null ? 0 : base.getTotalCount(), cur.getTotalCount(), List.of(), 0, 1));
+                return;
+            }
+
+            List<Shift> shifts = new ArrayList<>();
+            boolean exceeded = false;
+            for (double p : PERCENTILES) {
+                double b = base.getValueAtPercentile(p) / 1_000.0;
+                double c = cur.getValueAtPercentile(p) / 1_000.0;
+                double changePct = b == 0 ? 0 : (c - b) / b * 100;
+                shifts.add(new Shift(p, b, c, changePct));
+                exceeded |= changePct > thresholdPct;
+            }
+            double d = ksStatistic(base, cur);
+            double pValue = ksPValue(d, base.getTotalCount(), cur.getTotalCount());
+            Status status = exceeded && pValue < alpha ? Status.REGRESSED : Status.OK;
+            verdicts.add(new Verdict(endpoint, status, base.getTotalCount(), cur.getTotalCount(), shifts, d, pValue));
+        });
+        return verdicts;
+    }
+
+    /**
+     * {@code D+ = max(F_baseline(x) - F_current(x))}: how far the current CDF lags the baseline, i.e. how much
+     * slower the current run is, evaluated at every recorded bucket of either histogram.
+     */
+    static double ksStatistic(Histogram baseline, Histogram current) {
+        TreeSet<Long> values = new TreeSet<>();
+        for (HistogramIterationValue v : baseline.recordedValues()) values.add(v.getValueIteratedTo());
+        for (HistogramIterationValue v : current.recordedValues()) values.add(v.getValueIteratedTo());
+
+        double n = baseline.getTotalCount();
+        double m = current.getTotalCount();
+        double d = 0;
+        for (long x : values) {
+            double fb = baseline.getCountBetweenValues(0, x) / n;
+            double fc = current.getCountBetweenValues(0, x) / m;
+            d = Math.max(d, fb - fc);
+        }
+        return d;
+    }
+
+    /**
+     * Asymptotic one-sided p-value {@code exp(-2 * n*m/(n+m) * D^2)}.
+     */
+    static double ksPValue(double d, long n, long m) {
+        double effective = (double) n * m / (n + m);
+        return Math.min(1, Math.exp(-2 * effective * d * d));
+    }
+
+    public enum Status { OK, REGRESSED, INSUFFICIENT_SAMPLES }
+
+    public record Shift(double percentile, double baselineMs, double currentMs, double changePct) {
+    }
+
+    public record Verdict(String endpoint, Status status, long baselineCount, long currentCount,
+                          List<Shift> shifts, double ksStatistic, double pValue) {
+    }
+}
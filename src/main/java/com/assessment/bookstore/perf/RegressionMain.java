@@ -0,0 +1,118 @@
+package com.assessment.bookstore.perf;
+
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.perf.RegressionGate.Shift;
+import com.assessment.bookstore.perf.RegressionGate.Status;
+import com.assessment.bookstore.perf.RegressionGate.Verdict;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the latest stored run of each {@code PERF_SUITE} (comma-separated) in {@code ENV}, or {@code PERF_RUN_ID},
+ * against the {@code PERF_BASELINE_RUNS} runs before it that did not regress, records the verdict next to the run
+ * and exits non-zero when an endpoint regressed.
+ */
+public final class RegressionMain {
+
+    private RegressionMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean regressed = false;
+        for (String suite : TestConfig.perfSuite().split(",")) {
+            if (!suite.isBlank()) regressed |= check(suite.trim(), TestConfig.env());
+        }
+        if (regressed) System.exit(1);
+    }
+
+    /**
+     * @return whether an endpoint of the suite's run regressed
+     */
+    private static boolean check(String suite, String env) throws Exception {
+        LatencyBaselines store = new LatencyBaselines(Paths.get(TestConfig.perfBaselineDir()), suite, env);
+        List<String> runs = store.runs();
+        String runId = TestConfig.perfRunId();
+        int current = runId.isBlank() ? runs.size() - 1 : runs.indexOf(runId);
+        if (current < 0) {
+            System.out.printf("Latency gate: no stored %s run%s for env %s, nothing to check%n", suite,
+                    runId.isBlank() ? "" : " " + runId, env);
+            return false;
+        }
+        String run = runs.get(current);
+        List<String> baselineRuns = baselineRuns(store, runs.subList(0, current));
+        if (baselineRuns.isEmpty()) {
+            System.out.printf("Latency gate: %s run %s is the first for env %s, it becomes the baseline%n",
+                    suite, run, env);
+            store.storeVerdict(run, Status.OK);
+            return false;
+        }
+
+        Map<String, Histogram> baseline = store.load(baselineRuns);
+        Map<String, Histogram> latest = store.load(List.of(run));
+        RegressionGate gate = new RegressionGate(TestConfig.perfRegressionPct(), TestConfig.perfRegressionAlpha(),
+                TestConfig.perfRegressionMinSamples());
+        List<Verdict> verdicts = gate.compare(baseline, latest);
+
+        System.out.printf("Latency gate: %s run %s vs %d baseline runs (%s .. %s), env %s, threshold %.0f%%, "
+                        + "alpha %s%n", suite, run, baselineRuns.size(), baselineRuns.getFirst(),
+                baselineRuns.getLast(), env, TestConfig.perfRegressionPct(), TestConfig.perfRegressionAlpha());
+        print(verdicts);
+        write(run, baselineRuns, verdicts, Paths.get(System.getProperty("user.dir"), "build", "reports", "perf",
+                "regression-" + suite + "-" + env + ".json"));
+
+        long regressed = verdicts.stream().filter(v -> v.status() == Status.REGRESSED).count();
+        store.storeVerdict(run, regressed > 0 ? Status.REGRESSED : Status.OK);
+        if (regressed > 0) {
+            System.out.printf("Latency gate: %d endpoint(s) of %s regressed%n", regressed, suite);
+        }
+        return regressed > 0;
+    }
+
+    /**
+     * The last {@code PERF_BASELINE_RUNS} of the earlier runs, leaving out those the gate found regressed so a slow
+     * run does not lower the bar for the next one.
+     */
+    private static List<String> baselineRuns(LatencyBaselines store, List<String> earlier) throws Exception {
+        List<String> baselineRuns = new ArrayList<>();
+        for (int i = earlier.size() - 1; i >= 0 && baselineRuns.size() < TestConfig.perfBaselineRuns(); i--) {
+            if (store.verdict(earlier.get(i)) != Status.REGRESSED) baselineRuns.addFirst(earlier.get(i));
+        }
+        return baselineRuns;
+    }
+
+    private static void print(List<Verdict> verdicts) {
+        System.out.printf("%n%-28s %-20s %8s %8s %22s %22s %22s %7s %9s%n", "endpoint", "status", "base n", "run n",
+                "p50 ms (change)", "p95 ms (change)", "p99 ms (change)", "D+", "p-value");
+        for (Verdict v : verdicts) {
+            StringBuilder shifts = new StringBuilder();
+            for (Shift s : v.shifts()) {
+                shifts.append(String.format(" %22s", String.format("%.1f->%.1f (%+.0f%%)",
+                        s.baselineMs(), s.currentMs(), s.changePct())));
+            }
+            if (v.shifts().isEmpty()) shifts.append(String.format(" %22s %22s %22s", "-", "-", "-"));
+            System.out.printf("%-28s %-20s %8d %8d%s %7.3f %9.2g%n", v.endpoint(), v.status(),
+                    v.baselineCount(), v.currentCount(), shifts, v.ksStatistic(), v.pValue());
+        }
+    }
+
+    private static void write(String runId, List<String> baselineRuns, List<Verdict> verdicts, Path file)
+            throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("run", runId);
+        report.put("baselineRuns", baselineRuns);
+        report.put("thresholdPct", TestConfig.perfRegressionPct());
+        report.put("alpha", TestConfig.perfRegressionAlpha());
+        report.put("endpoints", verdicts);
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+}
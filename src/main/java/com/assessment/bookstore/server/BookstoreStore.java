@@ -0,0 +1,112 @@
+package com.assessment.bookstore.server;
+
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class BookstoreStore {
+
+    private static final int SEED_BOOKS = 200;
+    private static final OffsetDateTime SEED_DATE = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final ConcurrentNavigableMap<Integer, Book> books = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Integer, Author> authors = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextBookId = new AtomicInteger(SEED_BOOKS + 1);
+    private final AtomicInteger nextAuthorId = new AtomicInteger(1);
+
+    static BookstoreStore seeded() {
+        BookstoreStore store = new BookstoreStore();
+        for (int id = 1; id <= SEED_BOOKS; id++) {
+            store.books.put(id, Book.builder()
+                    .id(id)
+                    .title("Book " + id)
+                    .description("Description of book " + id)
+                    .pageCount(id * 100)
+                    .excerpt("Excerpt of book " + id)
+                    .publishDate(SEED_DATE.minusDays(id).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME))
+                    .build());
+
+            int authorsPerBook = 1 + id % 4;
+            for (int i = 0; i < authorsPerBook; i++) {
+                int authorId = store.nextAuthorId.getAndIncrement();
+                store.authors.put(authorId, Author.builder()
+                        .id(authorId)
+                        .idBook(id)
+                        .firstName("First Name " + authorId)
+                        .lastName("Last Name " + authorId)
+                        .build());
+            }
+        }
+        return store;
+    }
+
+    Collection<Book> books() {
+        return books.values();
+    }
+
+    Optional<Book> book(int id) {
+        return Optional.ofNullable(books.get(id));
+    }
+
+    Book createBook(Book book) {
+        Book stored = book.getId() == null
+                ? book.toBuilder().id(nextBookId.getAndIncrement()).build()
+                : book;
+        books.put(stored.getId(), stored);
+        return stored;
+    }
+
+    Optional<Book> updateBook(int id, Book book) {
+        Book stored = book.toBuilder().id(id).build();
+        return Optional.ofNullable(books.computeIfPresent(id, (k, v) -> stored));
+    }
+
+    boolean deleteBook(int id) {
+        return books.remove(id) != null;
+    }
+
+    Collection<Author> authors() {
+        return authors.values();
+    }
+
+    List<Author> authorsByBook(int idBook) {
+        List<Author> result = new ArrayList<>();
+        for (Author author : authors.values()) {
+            if (author.getIdBook() != null && author.getIdBook() == idBook) {
+                result.add(author);
+            }
+        }
+        return result;
+    }
+
+    Optional<Author> author(int id) {
+        return Optional.ofNullable(authors.get(id));
+    }
+
+    Author createAuthor(Author author) {
+        Author stored = author.getId() == null
+                ? author.toBuilder().id(nextAuthorId.getAndIncrement()).build()
+                : author;
+        authors.put(stored.getId(), stored);
+        return stored;
+    }
+
+    Optional<Author> updateAuthor(int id, Author author) {
+        Author stored = author.toBuilder().id(id).build();
+        return Optional.ofNullable(authors.computeIfPresent(id, (k, v) -> stored));
+    }
+
+    boolean deleteAuthor(int id) {
+        return authors.remove(id) != null;
+    }
+}
@@ -0,0 +1,247 @@
+package com.assessment.bookstore.server;
+
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class LocalBookstoreServer {
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String PROBLEM_JSON = "application/problem+json; charset=utf-8";
+    private static final int BACKLOG = 1024;
+    private static final int WORKER_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static volatile LocalBookstoreServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BookstoreStore store;
+    private final String apiPrefix;
+
+    private LocalBookstoreServer(String apiPrefix) throws IOException {
+        this.apiPrefix = apiPrefix;
+        this.store = BookstoreStore.seeded();
+        this.executor = Executors.newFixedThreadPool(WORKER_THREADS, workerThreads());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), BACKLOG);
+        this.server.setExecutor(executor);
+        this.server.createContext(apiPrefix + "/", this::handle);
+        this.server.start();
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "local-bookstore-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    public static LocalBookstoreServer start(String apiPrefix) {
+        try {
+            return new LocalBookstoreServer(apiPrefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start local Bookstore server", e);
+        }
+    }
+
+    public static LocalBookstoreServer shared(String apiPrefix) {
+        LocalBookstoreServer s = shared;
+        if (s == null) {
+            synchronized (LocalBookstoreServer.class) {
+                s = shared;
+                if (s == null) {
+                    s = start(apiPrefix);
+                    Runtime.getRuntime().addShutdownHook(new Thread(s::stop, "local-bookstore-stop"));
+                    shared = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    public static void stopShared() {
+        synchronized (LocalBookstoreServer.class) {
+            if (shared != null) {
+                shared.stop();
+                shared = null;
+            }
+        }
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] segments = segments(exchange.getRequestURI().getPath());
+            String method = exchange.getRequestMethod();
+
+            if (segments.length >= 1 && segments[0].equals("Books")) {
+                handleBooks(exchange, method, segments);
+            } else if (segments.length >= 1 && segments[0].equals("Authors")) {
+                handleAuthors(exchange, method, segments);
+            } else {
+                problem(exchange, 404, "Not Found");
+            }
+        } catch (BadRequest e) {
+            problem(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            problem(exchange, 500, e.getClass().getSimpleName());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleBooks(HttpExchange exchange, String method, String[] segments) throws IOException {
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET" -> json(exchange, 200, store.books());
+                case "POST" -> json(exchange, 200, store.createBook(validBook(read(exchange, Book.class))));
+                default -> problem(exchange, 405, "Method Not Allowed");
+            }
+            return;
+        }
+        if (segments.length != 2) {
+            problem(exchange, 404, "Not Found");
+            return;
+        }
+
+        int id = id(segments[1]);
+        switch (method) {
+            case "GET" -> found(exchange, store.book(id));
+            case "PUT" -> found(exchange, store.updateBook(id, validBook(read(exchange, Book.class))));
+            case "DELETE" -> empty(exchange, store.deleteBook(id));
+            default -> problem(exchange, 405, "Method Not Allowed");
+        }
+    }
+
+    private void handleAuthors(HttpExchange exchange, String method, String[] segments) throws IOException {
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET" -> json(exchange, 200, store.authors());
+                case "POST" -> json(exchange, 200, store.createAuthor(validAuthor(read(exchange, Author.class))));
+                default -> problem(exchange, 405, "Method Not Allowed");
+            }
+            return;
+        }
+        if (segments.length == 4 && segments[1].equals("authors") && segments[2].equals("books")) {
+            if (method.equals("GET")) {
+                json(exchange, 200, store.authorsByBook(id(segments[3])));
+            } else {
+                problem(exchange, 405, "Method Not Allowed");
+            }
+            return;
+        }
+        if (segments.length != 2) {
+            problem(exchange, 404, "Not Found");
+            return;
+        }
+
+        int id = id(segments[1]);
+        switch (method) {
+            case "GET" -> found(exchange, store.author(id));
+            case "PUT" -> found(exchange, store.updateAuthor(id, validAuthor(read(exchange, Author.class))));
+            case "DELETE" -> empty(exchange, store.deleteAuthor(id));
+            default -> problem(exchange, 405, "Method Not Allowed");
+        }
+    }
+
+    private String[] segments(String path) {
+        String rest = path.substring(apiPrefix.length());
+        if (rest.startsWith("/")) rest = rest.substring(1);
+        if (rest.endsWith("/")) rest = rest.substring(0, rest.length() - 1);
+        return rest.isEmpty() ? new String[0] : rest.split("/");
+    }
+
+    private static int id(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw new BadRequest("The value '" + segment + "' is not valid.");
+        }
+    }
+
+    private static <T> T read(HttpExchange exchange, Class<T> type) {
+        try (InputStream in = exchange.getRequestBody()) {
+            return MAPPER.readValue(in, type);
+        } catch (IOException e) {
+            throw new BadRequest("Request body is not a valid " + type.getSimpleName());
+        }
+    }
+
+    private static Book validBook(Book book) {
+        if (book.getTitle() == null || book.getTitle().isBlank()) {
+            throw new BadRequest("The Title field is required.");
+        }
+        return book;
+    }
+
+    private static Author validAuthor(Author author) {
+        if (author.getFirstName() == null || author.getFirstName().isBlank()) {
+            throw new BadRequest("The FirstName field is required.");
+        }
+        return author;
+    }
+
+    private static void found(HttpExchange exchange, Optional<?> value) throws IOException {
+        if (value.isPresent()) {
+            json(exchange, 200, value.get());
+        } else {
+            problem(exchange, 404, "Not Found");
+        }
+    }
+
+    private static void empty(HttpExchange exchange, boolean found) throws IOException {
+        if (found) {
+            exchange.sendResponseHeaders(200, -1);
+        } else {
+            problem(exchange, 404, "Not Found");
+        }
+    }
+
+    private static void json(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, JSON, MAPPER.writeValueAsBytes(body));
+    }
+
+    private static void problem(HttpExchange exchange, int status, String title) throws IOException {
+        send(exchange, status, PROBLEM_JSON, MAPPER.writeValueAsBytes(Map.of("title", title, "status", status)));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static final class BadRequest extends RuntimeException {
+        BadRequest(String message) {
+            super(message);
+        }
+    }
+}
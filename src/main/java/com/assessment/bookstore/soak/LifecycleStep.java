@@ -0,0 +1,35 @@
+package com.assessment.bookstore.soak;
+
+/**
+ * The calls of one create, get, update, delete lifecycle, each with the status it must answer with.
+ */
+public enum LifecycleStep {
+
+    BOOK_CREATE("POST /Books", 200),
+    BOOK_GET("GET /Books/{id}", 200),
+    BOOK_UPDATE("PUT /Books/{id}", 200),
+    BOOK_DELETE("DELETE /Books/{id}", 200),
+    BOOK_GONE("GET /Books/{id} after delete", 404),
+
+    AUTHOR_CREATE("POST /Authors", 200),
+    AUTHOR_GET("GET /Authors/{id}", 200),
+    AUTHOR_UPDATE("PUT /Authors/{id}", 200),
+    AUTHOR_DELETE("DELETE /Authors/{id}", 200),
+    AUTHOR_GONE("GET /Authors/{id} after delete", 404);
+
+    private final String endpoint;
+    private final int expectedStatus;
+
+    LifecycleStep(String endpoint, int expectedStatus) {
+        this.endpoint = endpoint;
+        this.expectedStatus = expectedStatus;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public int expectedStatus() {
+        return expectedStatus;
+    }
+}
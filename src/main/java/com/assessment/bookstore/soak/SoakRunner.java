@@ -0,0 +1,263 @@
+package com.assessment.bookstore.soak;
+
+import com.assessment.bookstore.client.AuthorsClient;
+import com.assessment.bookstore.client.BooksClient;
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.model.Book;
+import com.assessment.bookstore.server.LocalBookstoreServer;
+import com.assessment.bookstore.soak.SoakWindows.Window;
+import com.assessment.bookstore.util.IdAllocator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.restassured.response.Response;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the book and author create, get, update, delete lifecycles back to back on {@code SOAK_CONCURRENCY} threads
+ * for {@code SOAK_DURATION_SEC}, to expose server-side leaks and latency drift. Results stream into
+ * {@link SoakWindows}; every {@code SOAK_WINDOW_SEC} the window is printed, appended as one line to
+ * {@code build/reports/soak/windows.ndjson} and compared with the first one. One lifecycle per client runs before the
+ * clock starts, so the first window does not pay for client setup. Responses are dropped as soon as their status is
+ * read. The id of a lifecycle whose delete was confirmed is reused; should the {@link IdAllocator} slot still run out,
+ * every worker stops and the run ends early with the reason in the output and the summary.
+ */
+public final class SoakRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int EXISTING_BOOKS = 200;
+    private static final String PUBLISH_DATE = "2024-01-01T00:00:00Z";
+
+    private final int durationSec;
+    private final int concurrency;
+    private final int windowSec;
+    private final SoakWindows windows = new SoakWindows();
+    private final BooksClient books = new BooksClient();
+    private final AuthorsClient authors = new AuthorsClient();
+    private final IdAllocator ids = IdAllocator.shared();
+    private final Queue<Integer> freeIds = new ConcurrentLinkedQueue<>();
+    private volatile String stopReason;
+    private Window baseline;
+
+    public SoakRunner(int durationSec, int concurrency, int windowSec) {
+        if (durationSec <= 0) throw new IllegalArgumentException("SOAK_DURATION_SEC must be positive");
+        if (concurrency <= 0) throw new IllegalArgumentException("SOAK_CONCURRENCY must be positive");
+        if (windowSec <= 0) throw new IllegalArgumentException("SOAK_WINDOW_SEC must be positive");
+        this.durationSec = durationSec;
+        this.concurrency = concurrency;
+        this.windowSec = windowSec;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SoakRunner runner = new SoakRunner(
+                TestConfig.soakDurationSec(),
+                TestConfig.soakConcurrency(),
+                TestConfig.soakWindowSec()
+        );
+        Path dir = Paths.get(System.getProperty("user.dir"), "build", "reports", "soak");
+        try {
+            Map<String, Object> summary = runner.run(dir.resolve("windows.ndjson"));
+            MAPPER.copy().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(dir.resolve("summary.json").toFile(), summary);
+            System.out.println("Soak summary written to " + dir.resolve("summary.json"));
+        } finally {
+            LocalBookstoreServer.stopShared();
+        }
+    }
+
+    public Map<String, Object> run(Path windowsFile) throws IOException, InterruptedException {
+        System.out.printf("Soak: %d threads for %d s against %s%s, %d s windows%n",
+                concurrency, durationSec, TestConfig.baseUrl(), TestConfig.apiPrefix(), windowSec);
+        Files.createDirectories(windowsFile.getParent());
+        bookLifecycle();
+        authorLifecycle();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSec);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("soak-windows").daemon().factory());
+        try (BufferedWriter out = Files.newBufferedWriter(windowsFile)) {
+            windows.start();
+            scheduler.scheduleAtFixedRate(() -> report(windows.roll(), out), windowSec, windowSec, TimeUnit.SECONDS);
+
+            List<Thread> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                boolean booksFirst = i % 2 == 0;
+                workers.add(Thread.ofPlatform().name("soak-" + i).start(() -> work(deadline, booksFirst)));
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            if (stopReason != null) {
+                System.out.printf("Soak: stopped early, %d s before the end: %s%n",
+                        TimeUnit.NANOSECONDS.toSeconds(Math.max(0, deadline - System.nanoTime())), stopReason);
+            }
+
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(windowSec, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+            Window last = windows.roll();
+            if (last.requests() > 0) {
+                report(last, out);
+            }
+        } finally {
+            scheduler.shutdownNow();
+        }
+        return summary();
+    }
+
+    private void work(long deadline, boolean booksFirst) {
+        boolean booksNext = booksFirst;
+        try {
+            while (System.nanoTime() < deadline && stopReason == null) {
+                if (booksNext ? bookLifecycle() : authorLifecycle()) {
+                    windows.cycleCompleted();
+                }
+                booksNext = !booksNext;
+            }
+        } catch (IllegalStateException e) {
+            // Only nextId() throws out of a lifecycle: ids leaked by failed lifecycles used up the slot.
+            stopReason = e.getMessage();
+        }
+    }
+
+    private int nextId() {
+        Integer free = freeIds.poll();
+        return free != null ? free : ids.nextId();
+    }
+
+    private boolean bookLifecycle() {
+        int id = nextId();
+        if (!step(LifecycleStep.BOOK_CREATE, () -> books.create(book(id, "Soak ")))) return false;
+        boolean completed = step(LifecycleStep.BOOK_GET, () -> books.getById(id))
+                && step(LifecycleStep.BOOK_UPDATE, () -> books.update(id, book(id, "Soak updated ")))
+                && step(LifecycleStep.BOOK_DELETE, () -> books.delete(id));
+        if (!completed) {
+            cleanUp(() -> books.delete(id));
+            return false;
+        }
+        return gone(id, step(LifecycleStep.BOOK_GONE, () -> books.getById(id)));
+    }
+
+    private boolean authorLifecycle() {
+        int id = nextId();
+        int idBook = ThreadLocalRandom.current().nextInt(1, EXISTING_BOOKS + 1);
+        if (!step(LifecycleStep.AUTHOR_CREATE, () -> authors.create(author(id, idBook, "Soak")))) return false;
+        boolean completed = step(LifecycleStep.AUTHOR_GET, () -> authors.getById(id))
+                && step(LifecycleStep.AUTHOR_UPDATE, () -> authors.update(id, author(id, idBook, "Soak updated")))
+                && step(LifecycleStep.AUTHOR_DELETE, () -> authors.delete(id));
+        if (!completed) {
+            cleanUp(() -> authors.delete(id));
+            return false;
+        }
+        return gone(id, step(LifecycleStep.AUTHOR_GONE, () -> authors.getById(id)));
+    }
+
+    /**
+     * Frees {@code id} for another lifecycle once the server confirmed its record is deleted.
+     */
+    private boolean gone(int id, boolean confirmed) {
+        if (confirmed) freeIds.add(id);
+        return confirmed;
+    }
+
+    private boolean step(LifecycleStep step, Supplier<Response> call) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            success = call.get().getStatusCode() == step.expectedStatus();
+        } catch (RuntimeException e) {
+            // counted as an error below
+        }
+        windows.record(step, System.nanoTime() - start, success);
+        return success;
+    }
+
+    /**
+     * Best-effort delete of a record left behind by a failed lifecycle, so failures do not grow the server's data.
+     */
+    private static void cleanUp(Supplier<Response> delete) {
+        try {
+            delete.get();
+        } catch (RuntimeException e) {
+            // already counted as an error of the failed step
+        }
+    }
+
+    private void report(Window window, BufferedWriter out) {
+        if (baseline == null && window.requests() > 0) {
+            baseline = window;
+        }
+        System.out.printf("Soak window %d: %.1f req/s, %d cycles, %.2f%% errors, p50 %.2f ms, p99 %.2f ms%s, "
+                        + "heap after GC %d MB%n",
+                window.index(), window.throughputRps(), window.cycles(), window.errorRate() * 100, window.p50Ms(),
+                window.p99Ms(), drift(window), window.heapAfterGcBytes() >> 20);
+        try {
+            out.write(MAPPER.writeValueAsString(window));
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            System.out.println("Soak: failed to append window " + window.index() + ": " + e.getMessage());
+        }
+    }
+
+    private String drift(Window window) {
+        if (baseline == null || window == baseline || baseline.p99Ms() == 0) return "";
+        return String.format(" (x%.2f of window %d, throughput x%.2f)", window.p99Ms() / baseline.p99Ms(),
+                baseline.index(), window.throughputRps() / baseline.throughputRps());
+    }
+
+    private Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("durationSec", durationSec);
+        summary.put("concurrency", concurrency);
+        summary.put("windowSec", windowSec);
+        summary.put("stoppedEarly", stopReason);
+        summary.put("cycles", windows.totalCycles());
+        summary.put("requests", windows.totalRequests());
+        summary.put("baselineWindow", baseline);
+        summary.put("steps", windows.totals());
+
+        System.out.printf("%n%-34s %9s %7s %9s %9s %9s %9s%n",
+                "step", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        windows.totals().forEach((step, s) -> System.out.printf("%-34s %9d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                step, s.requests(), s.errors(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.maxMs()));
+        return summary;
+    }
+
+    private static Book book(int id, String title) {
+        return Book.builder()
+                .id(id)
+                .title(title + id)
+                .description("Soak test book")
+                .pageCount(100)
+                .excerpt("Excerpt")
+                .publishDate(PUBLISH_DATE)
+                .build();
+    }
+
+    private static Author author(int id, int idBook, String firstName) {
+        return Author.builder()
+                .id(id)
+                .idBook(idBook)
+                .firstName(firstName)
+                .lastName("Author " + id)
+                .build();
+    }
+}
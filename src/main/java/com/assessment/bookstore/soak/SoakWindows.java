@@ -0,0 +1,160 @@
+package com.assessment.bookstore.soak;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates lifecycle calls as they complete into one time window at a time: a {@link Recorder} and an error counter
+ * per step, swapped out by {@link #roll()}. Memory is fixed however long the run is: three histograms per step (the
+ * active and the recycled interval plus the run total) and nothing per request.
+ */
+public final class SoakWindows {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<LifecycleStep, Step> steps = new EnumMap<>(LifecycleStep.class);
+    private final LongAdder cycles = new LongAdder();
+    private final Histogram windowAll = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalAll = new Histogram(SIGNIFICANT_DIGITS);
+    private long windowStartNanos = System.nanoTime();
+    private int index;
+    private long totalCycles;
+
+    public SoakWindows() {
+        for (LifecycleStep step : LifecycleStep.values()) {
+            steps.put(step, new Step());
+        }
+    }
+
+    public void record(LifecycleStep step, long latencyNanos, boolean success) {
+        Step s = steps.get(step);
+        s.recorder.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (!success) {
+            s.errors.increment();
+        }
+    }
+
+    /**
+     * Starts the first window now, dropping anything recorded before.
+     */
+    public synchronized void start() {
+        steps.values().forEach(s -> {
+            s.interval = s.recorder.getIntervalHistogram(s.interval);
+            s.errors.reset();
+        });
+        cycles.reset();
+        windowStartNanos = System.nanoTime();
+    }
+
+    public void cycleCompleted() {
+        cycles.increment();
+    }
+
+    /**
+     * Closes the current window and starts the next one.
+     */
+    public synchronized Window roll() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - windowStartNanos) / 1e9);
+        windowStartNanos = now;
+
+        windowAll.reset();
+        long errors = 0;
+        Map<String, StepStats> stepStats = new LinkedHashMap<>();
+        for (Map.Entry<LifecycleStep, Step> entry : steps.entrySet()) {
+            Step s = entry.getValue();
+            s.interval = s.recorder.getIntervalHistogram(s.interval);
+            long stepErrors = s.errors.sumThenReset();
+            s.totalErrors += stepErrors;
+            s.total.add(s.interval);
+            windowAll.add(s.interval);
+            errors += stepErrors;
+            if (s.interval.getTotalCount() > 0) {
+                stepStats.put(entry.getKey().endpoint(), StepStats.of(s.interval, stepErrors));
+            }
+        }
+        totalAll.add(windowAll);
+        long windowCycles = cycles.sumThenReset();
+        totalCycles += windowCycles;
+
+        return new Window(++index, seconds, windowCycles, windowAll.getTotalCount(), errors,
+                millis(windowAll.getValueAtPercentile(50)), millis(windowAll.getValueAtPercentile(99)),
+                millis(windowAll.getMaxValue()), heapAfterGcBytes(), stepStats);
+    }
+
+    /**
+     * Per-step statistics over every closed window.
+     */
+    public synchronized Map<String, StepStats> totals() {
+        Map<String, StepStats> result = new LinkedHashMap<>();
+        steps.forEach((step, s) -> {
+            if (s.total.getTotalCount() > 0) result.put(step.endpoint(), StepStats.of(s.total, s.totalErrors));
+        });
+        return result;
+    }
+
+    public synchronized long totalCycles() {
+        return totalCycles;
+    }
+
+    public synchronized long totalRequests() {
+        return totalAll.getTotalCount();
+    }
+
+    /**
+     * Heap in use right after the last collection of each heap pool: the part of the heap that survives GC, which is
+     * what grows when something leaks.
+     */
+    static long heapAfterGcBytes() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    public record Window(int index, double seconds, long cycles, long requests, long errors, double p50Ms,
+                         double p99Ms, double maxMs, long heapAfterGcBytes, Map<String, StepStats> steps) {
+
+        public double throughputRps() {
+            return requests / seconds;
+        }
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    public record StepStats(long requests, long errors, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        static StepStats of(Histogram h, long errors) {
+            return new StepStats(h.getTotalCount(), errors, millis(h.getValueAtPercentile(50)),
+                    millis(h.getValueAtPercentile(90)), millis(h.getValueAtPercentile(99)), millis(h.getMaxValue()));
+        }
+    }
+
+    private static final class Step {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private Histogram interval;
+        private long totalErrors;
+    }
+}
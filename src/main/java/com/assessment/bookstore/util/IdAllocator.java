@@ -0,0 +1,80 @@
+package com.assessment.bookstore.util;
+
+import com.assessment.bookstore.cassette.CassetteMode;
+import com.assessment.bookstore.config.TestConfig;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out entity ids that never collide between threads or between test JVMs: the id space above
+ * {@code 1_000_000_000} is split into {@value #SLOTS} slots, each JVM takes one slot (the Gradle test worker id,
+ * or {@code ID_SLOT} when set) and allocates sequentially inside it with a single atomic increment.
+ * <p>
+ * Allocation starts at a random offset inside the slot and wraps around its end, so runs against a persistent server
+ * do not ask for the ids an earlier run created, and two JVMs that land on the same slot (concurrent jobs, or a pid
+ * taken modulo {@value #SLOTS}) only collide if their random ranges overlap. With a cassette recorded or replayed
+ * the slot and the offset are 0, so the same run asks for the same ids.
+ */
+public final class IdAllocator {
+
+    static final int SLOTS = 64;
+    private static final int BASE = 1_000_000_000;
+    private static final int SLOT_SIZE = (Integer.MAX_VALUE - BASE) / SLOTS;
+
+    private static final IdAllocator SHARED = TestConfig.cassetteMode() != CassetteMode.OFF
+            ? new IdAllocator(defaultSlot(), 0)
+            : new IdAllocator(defaultSlot());
+
+    private final int slot;
+    private final int first;
+    private final int offset;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public IdAllocator(int slot) {
+        this(slot, ThreadLocalRandom.current().nextInt(SLOT_SIZE));
+    }
+
+    IdAllocator(int slot, int offset) {
+        if (slot < 0 || slot >= SLOTS) {
+            throw new IllegalArgumentException("Id slot must be in [0, " + SLOTS + "): " + slot);
+        }
+        if (offset < 0 || offset >= SLOT_SIZE) {
+            throw new IllegalArgumentException("Id offset must be in [0, " + SLOT_SIZE + "): " + offset);
+        }
+        this.slot = slot;
+        this.first = BASE + slot * SLOT_SIZE;
+        this.offset = offset;
+    }
+
+    public static IdAllocator shared() {
+        return SHARED;
+    }
+
+    public int nextId() {
+        int n = next.getAndIncrement();
+        if (n >= SLOT_SIZE) {
+            throw new IllegalStateException("Id slot " + slot + " exhausted after " + SLOT_SIZE + " ids");
+        }
+        return first + (int) ((offset + (long) n) % SLOT_SIZE);
+    }
+
+    public int slot() {
+        return slot;
+    }
+
+    static int defaultSlot() {
+        int configured = TestConfig.idSlot();
+        if (configured >= 0) {
+            return configured % SLOTS;
+        }
+        if (TestConfig.cassetteMode() != CassetteMode.OFF) {
+            return 0;
+        }
+        String worker = System.getProperty("org.gradle.test.worker");
+        long seed = worker != null && worker.chars().allMatch(Character::isDigit)
+                ? Long.parseLong(worker)
+                : ProcessHandle.current().pid();
+        return (int) (seed % SLOTS);
+    }
+}
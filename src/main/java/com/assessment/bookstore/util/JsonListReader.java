@@ -0,0 +1,83 @@
+package com.assessment.bookstore.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a top-level JSON array one element at a time, so only the current item is held in memory.
+ */
+public final class JsonListReader implements Iterator<JsonNode>, Closeable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JsonParser parser;
+    private JsonToken current;
+
+    public JsonListReader(InputStream in) {
+        try {
+            this.parser = MAPPER.getFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array but found " + parser.currentToken());
+            }
+            this.current = parser.nextToken();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JSON list", e);
+        }
+    }
+
+    public static <T> Stream<T> stream(InputStream in, Class<T> type) {
+        JsonListReader reader = new JsonListReader(in);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED), false)
+                .map(node -> reader.bind(node, type))
+                .onClose(reader::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != null && current != JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public JsonNode next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            JsonNode node = parser.readValueAsTree();
+            current = parser.nextToken();
+            return node;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JSON list item", e);
+        }
+    }
+
+    public <T> T bind(JsonNode node, Class<T> type) {
+        try {
+            return MAPPER.treeToValue(node, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind JSON list item to " + type.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -16,4 +16,12 @@ public class JsonUtils {
             throw new RuntimeException("Failed to parse JSON", e);
         }
     }
+
+    public static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize JSON", e);
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.assessment.bookstore.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wall-clock cost of one-off initialisation phases (config, client spec, ...) in the current JVM.
+ */
+public final class StartupTimings {
+
+    private static final Map<String, Long> NANOS = new LinkedHashMap<>();
+
+    private StartupTimings() {
+    }
+
+    public static synchronized void record(String phase, long startNanos) {
+        NANOS.putIfAbsent(phase, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Recorded phases in milliseconds, in the order they ran.
+     */
+    public static synchronized Map<String, Double> millis() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        NANOS.forEach((phase, nanos) -> result.put(phase, Math.round(nanos / 100_000.0) / 10.0));
+        return result;
+    }
+}
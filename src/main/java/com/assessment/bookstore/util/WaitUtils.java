@@ -1,35 +1,196 @@
 package com.assessment.bookstore.util;
 
+import com.assessment.bookstore.config.TestConfig;
+
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
+/**
+ * Polls conditions from one shared scheduler thread instead of sleeping on the caller's thread. Conditions run on
+ * virtual threads, the first poll is immediate and later polls back off exponentially with jitter between
+ * {@code WAIT_MIN_INTERVAL_MS} and {@code WAIT_MAX_INTERVAL_MS}. A wait that times out completes with an
+ * {@link AssertionError} at its deadline, even while a poll is still running or its stage never completes.
+ */
 public final class WaitUtils {
 
-    private static final long POLL_INTERVAL_MS = 300;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "wait-scheduler");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final ExecutorService POLLERS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final LongAdder WAITS = new LongAdder();
+    private static final LongAdder TIMEOUTS = new LongAdder();
+    private static final LongAdder POLLS = new LongAdder();
+    private static final LongAdder WAIT_NANOS = new LongAdder();
+    private static final LongAccumulator MAX_WAIT_NANOS = new LongAccumulator(Math::max, 0);
 
     private WaitUtils() {}
 
     public static void waitUntil(Supplier<Boolean> condition, Duration timeout) {
-        long end = System.currentTimeMillis() + timeout.toMillis();
+        try {
+            waitUntilAsync(condition, timeout).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
 
-        while (System.currentTimeMillis() < end) {
-            if (condition.get()) {
-                return;
+    public static CompletableFuture<WaitResult> waitUntilAsync(Supplier<Boolean> condition, Duration timeout) {
+        return waitUntilAsync(condition, timeout, Backoff.fromConfig());
+    }
+
+    public static CompletableFuture<WaitResult> waitUntilAsync(Supplier<Boolean> condition, Duration timeout,
+                                                               Backoff backoff) {
+        return waitUntilAsyncCondition(() -> CompletableFuture.supplyAsync(condition, POLLERS), timeout, backoff);
+    }
+
+    /**
+     * Waits on a condition that is itself asynchronous, e.g. {@code () -> asyncBooksClient.getById(id)
+     * .thenApply(r -> r.statusCode() == 404)}; a new stage is requested for every poll.
+     */
+    public static CompletableFuture<WaitResult> waitUntilAsyncCondition(
+            Supplier<? extends CompletionStage<Boolean>> condition, Duration timeout) {
+        return waitUntilAsyncCondition(condition, timeout, Backoff.fromConfig());
+    }
+
+    public static CompletableFuture<WaitResult> waitUntilAsyncCondition(
+            Supplier<? extends CompletionStage<Boolean>> condition, Duration timeout, Backoff backoff) {
+        Wait wait = new Wait(condition, timeout, backoff);
+        wait.expiry = SCHEDULER.schedule(wait::expire, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        SCHEDULER.execute(wait::poll);
+        return wait.result;
+    }
+
+    public static WaitStats stats() {
+        return new WaitStats(WAITS.sum(), TIMEOUTS.sum(), POLLS.sum(), WAIT_NANOS.sum(), MAX_WAIT_NANOS.get());
+    }
+
+    /**
+     * Poll interval policy: starts at {@code min}, grows by {@code multiplier} up to {@code max}, and each delay is
+     * spread by {@code ±jitter} (a fraction) so waiters started together do not poll the server in lockstep.
+     */
+    public record Backoff(Duration min, Duration max, double multiplier, double jitter) {
+
+        public Backoff {
+            if (min.isNegative() || max.compareTo(min) < 0 || multiplier < 1 || jitter < 0 || jitter >= 1) {
+                throw new IllegalArgumentException("Invalid backoff " + min + ".." + max + " x" + multiplier
+                        + " ±" + jitter);
             }
-            sleep(POLL_INTERVAL_MS);
         }
 
-        throw new AssertionError(
-                "Condition not met within " + timeout.toMillis() + " ms"
-        );
+        public static Backoff fromConfig() {
+            return new Backoff(Duration.ofMillis(TestConfig.waitMinIntervalMs()),
+                    Duration.ofMillis(TestConfig.waitMaxIntervalMs()),
+                    TestConfig.waitBackoffMultiplier(),
+                    TestConfig.waitJitter());
+        }
+
+        long nextNanos(int poll) {
+            double base = min.toNanos() * Math.pow(multiplier, poll - 1);
+            double spread = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+            return (long) Math.max(min.toNanos(), Math.min(max.toNanos(), base * spread));
+        }
     }
 
-    private static void sleep(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Thread interrupted while waiting", e);
+    public record WaitResult(int polls, Duration elapsed) {
+    }
+
+    public record WaitStats(long waits, long timeouts, long polls, long totalNanos, long maxNanos) {
+
+        public double meanMillis() {
+            return waits == 0 ? 0 : totalNanos / 1_000_000.0 / waits;
+        }
+
+        public double pollsPerWait() {
+            return waits == 0 ? 0 : (double) polls / waits;
+        }
+    }
+
+    private static final class Wait {
+
+        final Supplier<? extends CompletionStage<Boolean>> condition;
+        final Duration timeout;
+        final Backoff backoff;
+        final long start = System.nanoTime();
+        final long deadline;
+        final CompletableFuture<WaitResult> result = new CompletableFuture<>();
+        volatile ScheduledFuture<?> expiry;
+        volatile int polls;
+
+        Wait(Supplier<? extends CompletionStage<Boolean>> condition, Duration timeout, Backoff backoff) {
+            this.condition = condition;
+            this.timeout = timeout;
+            this.backoff = backoff;
+            this.deadline = start + timeout.toNanos();
+        }
+
+        void poll() {
+            if (result.isDone()) return;
+            polls++;
+            POLLS.increment();
+
+            CompletionStage<Boolean> stage;
+            try {
+                stage = condition.get();
+            } catch (RuntimeException | Error e) {
+                finish(e);
+                return;
+            }
+            stage.whenComplete((met, error) -> {
+                if (error != null) {
+                    finish(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                } else if (Boolean.TRUE.equals(met)) {
+                    finish(null);
+                } else {
+                    scheduleNext();
+                }
+            });
+        }
+
+        void scheduleNext() {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                expire();
+                return;
+            }
+            SCHEDULER.schedule(this::poll, Math.min(remaining, backoff.nextNanos(polls)), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Runs at the deadline regardless of the poll in flight, whose late answer is then ignored.
+         */
+        void expire() {
+            finish(new AssertionError("Condition not met within " + timeout.toMillis() + " ms after "
+                    + polls + " polls"));
+        }
+
+        void finish(Throwable error) {
+            long elapsed = System.nanoTime() - start;
+            boolean completed = error == null
+                    ? result.complete(new WaitResult(polls, Duration.ofNanos(elapsed)))
+                    : result.completeExceptionally(error);
+            if (!completed) return;
+
+            ScheduledFuture<?> pending = expiry;
+            if (pending != null) pending.cancel(false);
+            WAITS.increment();
+            WAIT_NANOS.add(elapsed);
+            MAX_WAIT_NANOS.accumulate(elapsed);
+            if (error instanceof AssertionError) TIMEOUTS.increment();
         }
     }
 }
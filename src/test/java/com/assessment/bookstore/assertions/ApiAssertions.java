@@ -1,8 +1,16 @@
 package com.assessment.bookstore.assertions;
 
+import com.assessment.bookstore.client.TimingFilter;
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.data.schema.SchemaRegistry;
+import com.assessment.bookstore.data.schema.SchemaRegistry.SchemaValidation;
 import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
 import org.apache.http.HttpStatus;
 
+import java.time.Duration;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public final class ApiAssertions {
@@ -26,4 +34,45 @@ public final class ApiAssertions {
         assertStatus(response, HttpStatus.SC_OK);
         assertJson(response);
     }
+
+    public static void assertMatchesSchema(Response response, String schemaPath) {
+        SchemaValidation validation = SchemaRegistry.validate(schemaPath, response.asByteArray());
+        assertThat(validation.valid())
+                .as("Response body matches schema %s%n%s", schemaPath, validation.details())
+                .isTrue();
+    }
+
+    public static void assertLatencyBelow(Response response) {
+        assertLatencyBelow(response, Duration.ofMillis(TestConfig.latencySlaMs()));
+    }
+
+    public static void assertLatencyBelow(Response response, Duration limit) {
+        assertThat(TimingFilter.latencyOf(response))
+                .as("Response latency")
+                .isLessThan(limit);
+    }
+
+    /**
+     * Checks the latency distribution of {@code responses} only; suite-wide limits belong in {@code LATENCY_SLAS}.
+     */
+    public static void assertPercentileBelow(List<Response> responses, double percentile, Duration limit) {
+        assertThat(responses)
+                .as("Responses to measure")
+                .isNotEmpty();
+        Histogram histogram = new Histogram(3);
+        for (Response response : responses) {
+            histogram.recordValue(TimingFilter.latencyOf(response).toNanos() / 1_000);
+        }
+        assertThat(Duration.ofNanos(histogram.getValueAtPercentile(percentile) * 1_000))
+                .as("p%s latency over %d calls", percentile, histogram.getTotalCount())
+                .isLessThan(limit);
+    }
+
+    public static void assertP95Below(List<Response> responses, Duration limit) {
+        assertPercentileBelow(responses, 95, limit);
+    }
+
+    public static void assertP99Below(List<Response> responses, Duration limit) {
+        assertPercentileBelow(responses, 99, limit);
+    }
 }
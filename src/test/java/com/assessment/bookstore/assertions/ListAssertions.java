@@ -0,0 +1,53 @@
+package com.assessment.bookstore.assertions;
+
+import com.assessment.bookstore.data.schema.SchemaRegistry;
+import com.assessment.bookstore.data.schema.SchemaRegistry.SchemaValidation;
+import com.assessment.bookstore.util.JsonListReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class ListAssertions {
+    private ListAssertions() {
+    }
+
+    public static long assertNonEmptyListOf(Response response, Class<?> type, String listSchemaPath,
+                                            String... requiredFields) {
+        return assertNonEmptyListOf(response, type, listSchemaPath, item -> { }, requiredFields);
+    }
+
+    public static <T> long assertNonEmptyListOf(Response response, Class<T> type, String listSchemaPath,
+                                                Consumer<? super T> itemRequirements, String... requiredFields) {
+        long count = 0;
+        try (InputStream body = response.asInputStream();
+             JsonListReader reader = new JsonListReader(body)) {
+            while (reader.hasNext()) {
+                JsonNode node = reader.next();
+                long index = count++;
+
+                for (String field : requiredFields) {
+                    assertThat(node.hasNonNull(field))
+                            .as("item[%d].%s is present", index, field)
+                            .isTrue();
+                }
+
+                SchemaValidation validation = SchemaRegistry.validateListItem(listSchemaPath, node);
+                assertThat(validation.valid())
+                        .as("item[%d] matches items of schema %s%n%s", index, listSchemaPath, validation.details())
+                        .isTrue();
+
+                itemRequirements.accept(reader.bind(node, type));
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Failed to read response body", e);
+        }
+
+        assertThat(count).as("list size").isPositive();
+        return count;
+    }
+}
@@ -0,0 +1,365 @@
+package com.assessment.bookstore.client;
+
+import com.assessment.bookstore.config.AppConfig;
+import com.assessment.bookstore.server.LocalBookstoreServer;
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link ResilienceFilter} against a private {@link LocalBookstoreServer}. A scripted filter in the attempt-filter
+ * position, where the cache and cassette normally sit, fails or delays individual attempts; it also stands in for the
+ * JDK client as the attempt of {@link ResilienceFilter#sendAsync}.
+ */
+class ResilienceFilterTest {
+
+    private static final String PREFIX = "/api/v1";
+
+    private static LocalBookstoreServer server;
+
+    private final Faults faults = new Faults();
+
+    @BeforeAll
+    static void startServer() {
+        server = LocalBookstoreServer.start(PREFIX);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @AfterEach
+    void clearBudget() {
+        LatencyBudget.clear();
+    }
+
+    @Test
+    @DisplayName("Idempotent request is retried on a retry status until it succeeds")
+    void retriesIdempotentRequestOnRetryStatus() {
+        ResilienceFilter filter = filter(Map.of("HTTP_RETRY_MAX_ATTEMPTS", "3"));
+        faults.fail(503, 503);
+        long retries = ResilienceFilter.stats().retries();
+
+        Response response = given(filter).get("/Books/1");
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(faults.attempts()).isEqualTo(3);
+        assertThat(ResilienceFilter.stats().retries() - retries).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Retries stop at HTTP_RETRY_MAX_ATTEMPTS and the last response is returned")
+    void returnsLastResponseWhenAttemptsRunOut() {
+        ResilienceFilter filter = filter(Map.of("HTTP_RETRY_MAX_ATTEMPTS", "2"));
+        faults.fail(503, 502, 504);
+
+        Response response = given(filter).get("/Books/1");
+
+        assertThat(response.getStatusCode()).isEqualTo(502);
+        assertThat(faults.attempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST is sent once even on a retry status")
+    void doesNotRetryNonIdempotentRequest() {
+        ResilienceFilter filter = filter(Map.of("HTTP_RETRY_MAX_ATTEMPTS", "3"));
+        faults.fail(503);
+
+        Response response = given(filter).body("{\"id\":0,\"title\":\"Resilience\"}").post("/Books");
+
+        assertThat(response.getStatusCode()).isEqualTo(503);
+        assertThat(faults.attempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Breaker opens after consecutive failures, rejects without sending, then lets one probe through")
+    void breakerOpensRejectsAndClosesAfterSuccessfulProbe() throws InterruptedException {
+        ResilienceFilter filter = filter(Map.of(
+                "HTTP_BREAKER_FAILURE_THRESHOLD", "2",
+                "HTTP_BREAKER_OPEN_MS", "200"));
+        faults.fail(500, 500);
+        given(filter).get("/Books/1");
+        given(filter).get("/Books/1");
+
+        assertThatThrownBy(() -> given(filter).get("/Books/1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Circuit open for GET Books/{id}");
+        assertThat(faults.attempts()).isEqualTo(2);
+
+        Thread.sleep(250);
+        assertThat(given(filter).get("/Books/1").getStatusCode()).isEqualTo(200);
+        assertThat(given(filter).get("/Books/1").getStatusCode()).isEqualTo(200);
+        assertThat(faults.attempts()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Breaker reopens when the half-open probe fails")
+    void breakerReopensWhenProbeFails() throws InterruptedException {
+        ResilienceFilter filter = filter(Map.of(
+                "HTTP_BREAKER_FAILURE_THRESHOLD", "1",
+                "HTTP_BREAKER_OPEN_MS", "200"));
+        faults.fail(500, 500);
+        given(filter).get("/Books/1");
+
+        Thread.sleep(250);
+        assertThat(given(filter).get("/Books/1").getStatusCode()).isEqualTo(500);
+
+        assertThatThrownBy(() -> given(filter).get("/Books/1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Circuit open");
+        assertThat(faults.attempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Breakers are per endpoint")
+    void breakerIsPerEndpoint() {
+        ResilienceFilter filter = filter(Map.of("HTTP_BREAKER_FAILURE_THRESHOLD", "1"));
+        faults.fail(500);
+        given(filter).get("/Books/1");
+
+        assertThat(given(filter).get("/Authors/1").getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("No retry is attempted when the backoff would outlast the remaining budget")
+    void skipsRetryThatDoesNotFitTheBudget() {
+        ResilienceFilter filter = filter(Map.of(
+                "HTTP_RETRY_MAX_ATTEMPTS", "3",
+                "HTTP_RETRY_BACKOFF_MS", "5000"));
+        faults.fail(503);
+        LatencyBudget.start(Duration.ofSeconds(1));
+
+        Response response = given(filter).get("/Books/1");
+
+        assertThat(response.getStatusCode()).isEqualTo(503);
+        assertThat(faults.attempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Requests fail fast once the budget is spent")
+    void failsFastWhenBudgetIsSpent() throws InterruptedException {
+        ResilienceFilter filter = filter(Map.of());
+        LatencyBudget.start(Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        assertThatThrownBy(() -> given(filter).get("/Books/1"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("budget of 1 ms");
+        assertThat(faults.attempts()).isZero();
+    }
+
+    @Test
+    @DisplayName("A GET slower than the endpoint's p95 is hedged and the faster answer wins")
+    void hedgesSlowGet() {
+        ResilienceFilter filter = filter(Map.of(
+                "HTTP_HEDGE_ENABLED", "true",
+                "HTTP_HEDGE_MIN_SAMPLES", "5",
+                "HTTP_HEDGE_MIN_DELAY_MS", "50"));
+        for (int i = 0; i < 5; i++) {
+            given(filter).get("/Books/1");
+        }
+        long hedgeWins = ResilienceFilter.stats().hedgeWins();
+        faults.delay(2_000);
+
+        long start = System.nanoTime();
+        Response response = given(filter).get("/Books/1");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(elapsed).isLessThan(Duration.ofMillis(1_500));
+        assertThat(ResilienceFilter.stats().hedgeWins() - hedgeWins).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GETs are not hedged before the endpoint has HTTP_HEDGE_MIN_SAMPLES latencies")
+    void doesNotHedgeWithoutEnoughSamples() {
+        ResilienceFilter filter = filter(Map.of(
+                "HTTP_HEDGE_ENABLED", "true",
+                "HTTP_HEDGE_MIN_SAMPLES", "5",
+                "HTTP_HEDGE_MIN_DELAY_MS", "50"));
+        faults.delay(300);
+
+        Response response = given(filter).get("/Books/1");
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(faults.attempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Async: idempotent request is retried on a retry status until it succeeds")
+    void retriesAsyncRequestOnRetryStatus() {
+        ResilienceFilter filter = filter(Map.of("HTTP_RETRY_MAX_ATTEMPTS", "3"));
+        faults.fail(503, 503);
+
+        Response response = filter.sendAsync("GET", "/Books/1", faults::sendAsync, new ConcurrentLinkedQueue<>()).join();
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(faults.attempts()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Async: breaker opens after consecutive failures and fails the future without sending")
+    void asyncBreakerRejectsWithoutSending() {
+        ResilienceFilter filter = filter(Map.of("HTTP_BREAKER_FAILURE_THRESHOLD", "2"));
+        faults.fail(500, 500);
+        filter.sendAsync("GET", "/Books/1", faults::sendAsync, new ConcurrentLinkedQueue<>()).join();
+        filter.sendAsync("GET", "/Books/1", faults::sendAsync, new ConcurrentLinkedQueue<>()).join();
+
+        assertThat(filter.sendAsync("GET", "/Books/1", faults::sendAsync, new ConcurrentLinkedQueue<>()))
+                .failsWithin(Duration.ofSeconds(1))
+                .withThrowableThat()
+                .havingRootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .withMessageContaining("Circuit open for GET Books/{id}");
+        assertThat(faults.attempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Async: a GET slower than the endpoint's p95 is hedged, the faster answer wins and a step is queued")
+    void hedgesSlowAsyncGet() {
+        ResilienceFilter filter = filter(Map.of(
+                "HTTP_HEDGE_ENABLED", "true",
+                "HTTP_HEDGE_MIN_SAMPLES", "5",
+                "HTTP_HEDGE_MIN_DELAY_MS", "50"));
+        for (int i = 0; i < 5; i++) {
+            filter.sendAsync("GET", "/Books/1", faults::sendAsync, new ConcurrentLinkedQueue<>()).join();
+        }
+        long hedgeWins = ResilienceFilter.stats().hedgeWins();
+        faults.delay(2_000);
+        Queue<Runnable> steps = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        Response response = filter.sendAsync("GET", "/Books/1", faults::sendAsync, steps).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(elapsed).isLessThan(Duration.ofMillis(1_500));
+        assertThat(ResilienceFilter.stats().hedgeWins() - hedgeWins).isEqualTo(1);
+        assertThat(steps).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Async: requests fail fast once the caller's budget is spent")
+    void asyncRequestFailsFastWhenBudgetIsSpent() throws InterruptedException {
+        ResilienceFilter filter = filter(Map.of());
+        LatencyBudget.start(Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        assertThat(filter.sendAsync("GET", "/Books/1", faults::sendAsync, new ConcurrentLinkedQueue<>()))
+                .failsWithin(Duration.ofSeconds(1))
+                .withThrowableThat()
+                .havingRootCause()
+                .isInstanceOf(AssertionError.class)
+                .withMessageContaining("budget of 1 ms");
+        assertThat(faults.attempts()).isZero();
+    }
+
+    /**
+     * A filter with {@code overrides} on top of fast defaults: no backoff, and no breaker unless configured.
+     */
+    private ResilienceFilter filter(Map<String, String> overrides) {
+        Map<String, String> props = new HashMap<>(Map.of(
+                "HTTP_RETRY_BACKOFF_MS", "1",
+                "HTTP_BREAKER_FAILURE_THRESHOLD", "0"));
+        props.putAll(overrides);
+        return new ResilienceFilter(ConfigFactory.create(AppConfig.class, props), List.of(faults));
+    }
+
+    private RequestSpecification given(ResilienceFilter filter) {
+        return RestAssured.given()
+                .baseUri(server.baseUrl())
+                .basePath(PREFIX)
+                .contentType("application/json")
+                .filter(filter)
+                .filter(faults);
+    }
+
+    /**
+     * Answers the next attempts with scripted statuses or delays them, then passes attempts through to the server.
+     */
+    private static final class Faults implements Filter {
+
+        private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+        private final Queue<Long> delays = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        void fail(Integer... statuses) {
+            this.statuses.addAll(List.of(statuses));
+        }
+
+        void delay(long millis) {
+            delays.add(millis);
+        }
+
+        int attempts() {
+            return attempts.get();
+        }
+
+        /**
+         * An async attempt: a scripted status, or a 200 after the scripted delay, without a server round trip.
+         */
+        CompletableFuture<Response> sendAsync() {
+            attempts.incrementAndGet();
+            Integer status = statuses.poll();
+            Response response = response(status != null ? status : 200);
+            Long delay = delays.poll();
+            return delay == null ? CompletableFuture.completedFuture(response)
+                    : CompletableFuture.supplyAsync(() -> response,
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification request,
+                               FilterableResponseSpecification responseSpec,
+                               FilterContext ctx) {
+            attempts.incrementAndGet();
+            Integer status = statuses.poll();
+            if (status != null) {
+                return response(status);
+            }
+            Long delay = delays.poll();
+            if (delay != null) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ctx.next(request, responseSpec);
+        }
+
+        private static Response response(int status) {
+            return new ResponseBuilder()
+                    .setStatusCode(status)
+                    .setStatusLine("HTTP/1.1 " + status)
+                    .setContentType(status == 200 ? "application/json" : "application/problem+json")
+                    .setBody("{}")
+                    .build();
+        }
+    }
+}
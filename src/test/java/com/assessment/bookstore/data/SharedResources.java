@@ -0,0 +1,17 @@
+package com.assessment.bookstore.data;
+
+/**
+ * Keys for {@link org.junit.jupiter.api.parallel.ResourceLock} on fixtures that tests share instead of creating.
+ */
+public final class SharedResources {
+
+    /** Every id listed by {@code GET /Books}; taken for writing by tests that delete books. */
+    public static final String BOOKS = "bookstore.books";
+    /** Book 1, read by the GET tests and overwritten by the PUT test. */
+    public static final String BOOK_1 = "bookstore.books.1";
+    /** Author 1, read by the GET tests and overwritten by the PUT test. */
+    public static final String AUTHOR_1 = "bookstore.authors.1";
+
+    private SharedResources() {
+    }
+}
@@ -1,24 +1,32 @@
 package com.assessment.bookstore.data;
 
+import com.assessment.bookstore.cassette.CassetteMode;
+import com.assessment.bookstore.config.TestConfig;
 import com.assessment.bookstore.model.Author;
 import com.assessment.bookstore.model.Book;
 
-import java.time.OffsetDateTime;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Deterministic payloads: the same id always yields the same body, so recorded cassettes replay.
+ */
 public final class TestData {
 
+    private static final String PUBLISH_DATE = "2024-01-01T00:00:00Z";
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
     private TestData() {
     }
 
     public static Book book(Integer id) {
         return Book.builder()
                 .id(id)
-                .title("Title " + UUID.randomUUID())
+                .title("Title " + id)
                 .description("Description")
                 .pageCount(123)
                 .excerpt("Excerpt")
-                .publishDate(OffsetDateTime.now().toString())
+                .publishDate(PUBLISH_DATE)
                 .build();
     }
 
@@ -30,4 +38,13 @@ public final class TestData {
                 .lastName("Doe")
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * A random UUID, or the next UUID of a fixed sequence when a cassette is recorded or replayed.
+     */
+    public static String uniqueSuffix() {
+        return TestConfig.cassetteMode() == CassetteMode.OFF
+                ? UUID.randomUUID().toString()
+                : new UUID(0, SEQUENCE.incrementAndGet()).toString();
+    }
+}
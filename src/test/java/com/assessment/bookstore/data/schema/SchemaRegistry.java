@@ -0,0 +1,141 @@
+package com.assessment.bookstore.data.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiles each classpath schema once per JVM and validates response bodies against the cached,
+ * thread-safe {@link JsonSchema}.
+ */
+public final class SchemaRegistry {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    private static final ConcurrentMap<String, CompiledSchema> SCHEMAS = new ConcurrentHashMap<>();
+    private static final String ITEMS_POINTER = "#/items";
+
+    private SchemaRegistry() {
+    }
+
+    public static SchemaValidation validate(String schemaPath, byte[] body) {
+        CompiledSchema schema = SCHEMAS.computeIfAbsent(schemaPath, path -> compile(path, ""));
+        long start = System.nanoTime();
+        try {
+            return schema.validate(MAPPER.readTree(body));
+        } catch (IOException e) {
+            return new SchemaValidation(false, "Body is not valid JSON: " + e.getMessage());
+        } finally {
+            schema.record(System.nanoTime() - start);
+        }
+    }
+
+    public static SchemaValidation validateListItem(String listSchemaPath, JsonNode item) {
+        CompiledSchema schema = SCHEMAS.computeIfAbsent(listSchemaPath + ITEMS_POINTER,
+                key -> compile(listSchemaPath, "/items"));
+        long start = System.nanoTime();
+        try {
+            return schema.validate(item);
+        } finally {
+            schema.record(System.nanoTime() - start);
+        }
+    }
+
+    public static Matcher<String> matchesSchema(String schemaPath) {
+        return new TypeSafeMatcher<>() {
+            private SchemaValidation last;
+
+            @Override
+            protected boolean matchesSafely(String body) {
+                last = validate(schemaPath, body.getBytes(StandardCharsets.UTF_8));
+                return last.valid();
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("JSON matching schema " + schemaPath);
+            }
+
+            @Override
+            protected void describeMismatchSafely(String body, Description mismatch) {
+                mismatch.appendText(last == null ? "was " + body : last.details());
+            }
+        };
+    }
+
+    public static Map<String, SchemaTiming> timings() {
+        Map<String, SchemaTiming> result = new TreeMap<>();
+        SCHEMAS.forEach((path, schema) -> result.put(path, schema.timing()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static CompiledSchema compile(String schemaPath, String pointer) {
+        try (InputStream in = SchemaRegistry.class.getClassLoader().getResourceAsStream(schemaPath)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Schema not found on classpath: " + schemaPath);
+            }
+            return new CompiledSchema(FACTORY.getJsonSchema(MAPPER.readTree(in), pointer));
+        } catch (IOException | ProcessingException e) {
+            throw new IllegalStateException("Failed to compile schema " + schemaPath, e);
+        }
+    }
+
+    public record SchemaValidation(boolean valid, String details) {
+    }
+
+    public record SchemaTiming(long validations, long totalNanos, long maxNanos) {
+
+        public double meanMicros() {
+            return validations == 0 ? 0 : totalNanos / 1_000.0 / validations;
+        }
+
+        public double maxMicros() {
+            return maxNanos / 1_000.0;
+        }
+    }
+
+    private static final class CompiledSchema {
+        private final JsonSchema schema;
+        private final LongAdder validations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private CompiledSchema(JsonSchema schema) {
+            this.schema = schema;
+        }
+
+        private SchemaValidation validate(JsonNode instance) {
+            ProcessingReport report = schema.validateUnchecked(instance);
+            return report.isSuccess()
+                    ? new SchemaValidation(true, "")
+                    : new SchemaValidation(false, report.toString());
+        }
+
+        private void record(long nanos) {
+            validations.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private SchemaTiming timing() {
+            return new SchemaTiming(validations.sum(), totalNanos.sum(), maxNanos.get());
+        }
+    }
+}
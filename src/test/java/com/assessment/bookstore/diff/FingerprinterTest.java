@@ -0,0 +1,130 @@
+package com.assessment.bookstore.diff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link Fingerprinter}'s normalisation on single records, and the {@link Fingerprints} file format.
+ */
+class FingerprinterTest {
+
+    @Test
+    @DisplayName("The same instant hashes equal whatever its offset or fraction digits")
+    void sameInstantWithDifferentOffsetsHashesEqual() throws IOException {
+        long utc = hash("{\"id\": 1, \"publishDate\": \"2024-01-01T00:00:00Z\"}");
+
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2024-01-01T01:00:00.000+01:00\"}")).isEqualTo(utc);
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2023-12-31T19:30:00-04:30\"}")).isEqualTo(utc);
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2024-01-01T00:00:01Z\"}")).isNotEqualTo(utc);
+    }
+
+    @Test
+    @DisplayName("A 7-digit .NET fraction equals the same fraction padded to nanoseconds")
+    void dotNetFractionsCompareAsInstants() throws IOException {
+        long dotNet = hash("{\"id\": 1, \"publishDate\": \"2024-06-01T12:00:00.1234567+00:00\"}");
+
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2024-06-01T12:00:00.123456700Z\"}")).isEqualTo(dotNet);
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2024-06-01T12:00:00.1234568Z\"}")).isNotEqualTo(dotNet);
+    }
+
+    @Test
+    @DisplayName("An impossible date is not read as an instant of the next month")
+    void impossibleDatesAreNotInstants() throws IOException {
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2024-02-31T00:00:00Z\"}"))
+                .isNotEqualTo(hash("{\"id\": 1, \"publishDate\": \"2024-03-02T00:00:00Z\"}"));
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2023-02-29T00:00:00Z\"}"))
+                .isNotEqualTo(hash("{\"id\": 1, \"publishDate\": \"2023-03-01T00:00:00Z\"}"));
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2024-04-31T00:00:00Z\"}"))
+                .isNotEqualTo(hash("{\"id\": 1, \"publishDate\": \"2024-05-01T00:00:00Z\"}"));
+        assertThat(hash("{\"id\": 1, \"publishDate\": \"2024-02-29T00:00:00Z\"}"))
+                .isEqualTo(hash("{\"id\": 1, \"publishDate\": \"2024-02-29T01:00:00+01:00\"}"));
+    }
+
+    @Test
+    @DisplayName("5.0 equals 5 and 5.10 equals 5.1, but 5.5 does not equal 5")
+    void numbersCompareByValue() throws IOException {
+        long five = hash("{\"id\": 1, \"pageCount\": 5}");
+
+        assertThat(hash("{\"id\": 1, \"pageCount\": 5.0}")).isEqualTo(five);
+        assertThat(hash("{\"id\": 1, \"pageCount\": 5.10}")).isEqualTo(hash("{\"id\": 1, \"pageCount\": 5.1}"));
+        assertThat(hash("{\"id\": 1, \"pageCount\": 5.5}")).isNotEqualTo(five);
+    }
+
+    @Test
+    @DisplayName("A null field equals a missing one")
+    void nullEqualsMissing() throws IOException {
+        Fingerprints withNull = read("{\"id\": 1, \"title\": \"Dune\", \"excerpt\": null}");
+        Fingerprints without = read("{\"id\": 1, \"title\": \"Dune\"}");
+
+        assertThat(withNull.hash(0)).isEqualTo(without.hash(0));
+        assertThat(withNull.fieldHash(0, "excerpt")).isZero();
+        assertThat(hash("{\"id\": 1, \"title\": \"Dune\", \"excerpt\": \"\"}")).isNotEqualTo(without.hash(0));
+    }
+
+    @Test
+    @DisplayName("Field names, the id included, ignore case")
+    void fieldNamesIgnoreCase() throws IOException {
+        Fingerprints upper = read("{\"ID\": 7, \"Title\": \"Dune\", \"PageCount\": 412}");
+        Fingerprints lower = read("{\"pagecount\": 412, \"id\": 7, \"title\": \"Dune\"}");
+
+        assertThat(upper.id(0)).isEqualTo(7);
+        assertThat(upper.hash(0)).isEqualTo(lower.hash(0));
+        assertThat(upper.fields()).containsExactly("id", "title", "pagecount");
+        assertThat(upper.fieldHash(0, "title")).isEqualTo(lower.fieldHash(0, "title"));
+    }
+
+    @Test
+    @DisplayName("Of records with the same id, the last one wins and the others are counted")
+    void lastDuplicateWins() throws IOException {
+        Fingerprints fingerprints = read("[{\"id\": 2, \"title\": \"b\"}, {\"id\": 1, \"title\": \"first\"}, "
+                + "{\"id\": 1, \"title\": \"last\"}]");
+
+        assertThat(fingerprints.size()).isEqualTo(2);
+        assertThat(fingerprints.duplicates()).isEqualTo(1);
+        assertThat(fingerprints.id(0)).isEqualTo(1);
+        assertThat(fingerprints.hash(fingerprints.indexOf(1)))
+                .isEqualTo(hash("{\"id\": 1, \"title\": \"last\"}"));
+    }
+
+    @Test
+    @DisplayName("A BKF1 file loads back the ids, hashes, fields and duplicate count it was saved with")
+    void saveAndLoadRoundTrip(@TempDir Path dir) throws IOException {
+        Fingerprints saved = read("[{\"id\": 3, \"title\": \"c\", \"publishDate\": \"2024-01-01T00:00:00Z\"}, "
+                + "{\"id\": 1, \"title\": \"a\", \"pageCount\": 10}, {\"id\": 3, \"title\": \"c2\"}]");
+        Path file = dir.resolve("nested").resolve("Books.fp");
+
+        saved.save(file);
+        Fingerprints loaded = Fingerprints.load(file);
+
+        assertThat(loaded.size()).isEqualTo(saved.size());
+        assertThat(loaded.duplicates()).isEqualTo(1);
+        assertThat(loaded.fields()).isEqualTo(saved.fields());
+        for (int i = 0; i < saved.size(); i++) {
+            assertThat(loaded.id(i)).isEqualTo(saved.id(i));
+            assertThat(loaded.hash(i)).isEqualTo(saved.hash(i));
+            for (String field : saved.fields()) {
+                assertThat(loaded.fieldHash(i, field)).isEqualTo(saved.fieldHash(i, field));
+            }
+        }
+        assertThat(FingerprintDiff.compare(saved, loaded).identical()).isTrue();
+        assertThat(dir.resolve("nested")).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    private static long hash(String json) throws IOException {
+        Fingerprints fingerprints = read(json);
+        assertThat(fingerprints.size()).isEqualTo(1);
+        return fingerprints.hash(0);
+    }
+
+    private static Fingerprints read(String json) throws IOException {
+        return Fingerprinter.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.assessment.bookstore.fuzz;
+
+import com.assessment.bookstore.client.AsyncAuthorsClient;
+import com.assessment.bookstore.client.AsyncBooksClient;
+import com.assessment.bookstore.data.schema.SchemaPaths;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.restassured.response.Response;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One client call under fuzz: its id and payload are generated, and a 200 body must match {@code schema}
+ * ({@code null} for calls that answer without one). For a {@code list} every item must match the list schema's
+ * {@code items}, since an empty list is a valid answer.
+ */
+public record Endpoint(String name, String schema, boolean list, Map<String, FuzzInputs.Kind> payload, Call call) {
+
+    @FunctionalInterface
+    public interface Call {
+        CompletableFuture<Response> send(int id, ObjectNode body);
+    }
+
+    public boolean takesId() {
+        return name.contains("{");
+    }
+
+    public boolean takesBody() {
+        return !payload.isEmpty();
+    }
+
+    public String path(int id) {
+        return name.replaceAll("\\{\\w+}", String.valueOf(id));
+    }
+
+    public static List<Endpoint> books(AsyncBooksClient client) {
+        return List.of(
+                new Endpoint("GET /Books/{id}", SchemaPaths.BOOK, false, Map.of(), (id, body) -> client.getById(id)),
+                new Endpoint("POST /Books", SchemaPaths.BOOK, false, FuzzInputs.BOOK,
+                        (id, body) -> client.create(body)),
+                new Endpoint("PUT /Books/{id}", SchemaPaths.BOOK, false, FuzzInputs.BOOK, client::update),
+                new Endpoint("DELETE /Books/{id}", null, false, Map.of(), (id, body) -> client.delete(id)));
+    }
+
+    public static List<Endpoint> authors(AsyncAuthorsClient client) {
+        return List.of(
+                new Endpoint("GET /Authors/{id}", SchemaPaths.AUTHOR, false, Map.of(),
+                        (id, body) -> client.getById(id)),
+                new Endpoint("GET /Authors/authors/books/{idBook}", SchemaPaths.AUTHORS_LIST, true, Map.of(),
+                        (id, body) -> client.getByBookId(id)),
+                new Endpoint("POST /Authors", SchemaPaths.AUTHOR, false, FuzzInputs.AUTHOR,
+                        (id, body) -> client.create(body)),
+                new Endpoint("PUT /Authors/{id}", SchemaPaths.AUTHOR, false, FuzzInputs.AUTHOR, client::update),
+                new Endpoint("DELETE /Authors/{id}", null, false, Map.of(), (id, body) -> client.delete(id)));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
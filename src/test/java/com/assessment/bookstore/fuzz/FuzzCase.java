@@ -0,0 +1,66 @@
+package com.assessment.bookstore.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.restassured.response.Response;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One generated call: case {@code index} of a run is derived from the run seed alone, so it can be regenerated.
+ */
+public record FuzzCase(long index, Endpoint endpoint, int id, ObjectNode body) {
+
+    private static final int SHOWN_CHARS = 64;
+
+    static FuzzCase generate(List<Endpoint> endpoints, long seed, long index) {
+        SplittableRandom random = new SplittableRandom(seed + index);
+        Endpoint endpoint = endpoints.get(random.nextInt(endpoints.size()));
+        int id = endpoint.takesId() ? FuzzInputs.id(random) : 0;
+        ObjectNode body = endpoint.takesBody() ? FuzzInputs.payload(random, endpoint.payload()) : null;
+        return new FuzzCase(index, endpoint, id, body);
+    }
+
+    CompletableFuture<Response> send() {
+        return endpoint.call().send(id, body);
+    }
+
+    FuzzCase with(int id, ObjectNode body) {
+        return new FuzzCase(index, endpoint, id, body);
+    }
+
+    /**
+     * The request as {@code METHOD path body}, with long strings cut down to their first characters and length.
+     */
+    @Override
+    public String toString() {
+        String request = endpoint.path(id);
+        return body == null ? request : request + " " + abbreviate(body);
+    }
+
+    private static JsonNode abbreviate(JsonNode node) {
+        if (node.isTextual() && node.textValue().length() > SHOWN_CHARS) {
+            String text = node.textValue();
+            int end = text.offsetByCodePoints(0, text.codePointCount(0, SHOWN_CHARS));
+            return TextNode.valueOf(text.substring(0, end) + "...(" + text.length() + " chars)");
+        }
+        if (node.isObject()) {
+            ObjectNode copy = ((ObjectNode) node).objectNode();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                copy.set(field.getKey(), abbreviate(field.getValue()));
+            }
+            return copy;
+        }
+        if (node.isArray()) {
+            ArrayNode copy = ((ArrayNode) node).arrayNode();
+            node.forEach(element -> copy.add(abbreviate(element)));
+            return copy;
+        }
+        return node;
+    }
+}
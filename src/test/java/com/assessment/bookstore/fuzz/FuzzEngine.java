@@ -0,0 +1,297 @@
+package com.assessment.bookstore.fuzz;
+
+import com.assessment.bookstore.client.ApiClient;
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.data.schema.SchemaRegistry;
+import com.assessment.bookstore.data.schema.SchemaRegistry.SchemaValidation;
+import com.assessment.bookstore.fuzz.FuzzReport.Finding;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends generated cases through the async clients and checks every response: the status is 200, 400 or 404, a body
+ * is JSON, and a 200 body matches the endpoint's schema.
+ * <p>
+ * Requests go out as fast as {@link InFlightLimit} allows; responses are checked on a pool of half the cores, and a
+ * slot is only released once its response is checked, so neither sockets nor schema validation can swamp the JVM.
+ * The first case of each kind of violation is then shrunk, one request at a time, to the simplest input that still
+ * fails the same way.
+ */
+public final class FuzzEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FuzzEngine.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<Integer> EXPECTED_STATUSES = Set.of(200, 400, 404);
+    private static final Set<Integer> OVERLOAD_STATUSES = Set.of(429, 503);
+    private static final long DRAIN_GRACE_MS = 5_000;
+    private static final int DETAIL_CHARS = 500;
+    private static final Pattern POINTER = Pattern.compile("\"pointer\":\"([^\"]*)\"");
+
+    private final String name;
+    private final List<Endpoint> endpoints;
+    private final long cases;
+    private final long seed;
+    private final int maxInFlight;
+    private final int shrinkSteps;
+
+    private final Map<String, Map<String, LongAdder>> statuses = new ConcurrentHashMap<>();
+    private final Map<String, Failures> failures = new ConcurrentHashMap<>();
+
+    public FuzzEngine(String name, List<Endpoint> endpoints, long cases, long seed, int maxInFlight, int shrinkSteps) {
+        if (endpoints.isEmpty()) throw new IllegalArgumentException("No endpoints to fuzz");
+        this.name = name;
+        this.endpoints = List.copyOf(endpoints);
+        this.cases = cases;
+        this.seed = seed;
+        this.maxInFlight = maxInFlight;
+        this.shrinkSteps = shrinkSteps;
+    }
+
+    /**
+     * An engine with the {@code FUZZ_*} settings, named after {@code name} and the environment bound to this thread;
+     * {@code FUZZ_SEED=0} picks a random seed, which the report shows for a rerun.
+     */
+    public static FuzzEngine fromConfig(String name, List<Endpoint> endpoints) {
+        long seed = TestConfig.fuzzSeed() != 0 ? TestConfig.fuzzSeed() : ThreadLocalRandom.current().nextLong();
+        return new FuzzEngine(name + "-" + ApiClient.env(), endpoints, TestConfig.fuzzCases(), seed,
+                TestConfig.fuzzMaxInFlight(), TestConfig.fuzzShrinkSteps());
+    }
+
+    public FuzzReport run() throws InterruptedException {
+        long timeoutMs = TestConfig.profile(ApiClient.env()).socketTimeoutMs();
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(TestConfig.profile(ApiClient.env()).latencySlaMs());
+        InFlightLimit limit = new InFlightLimit(maxInFlight, targetNanos);
+        ExecutorService checkers = Executors.newFixedThreadPool(
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                Thread.ofPlatform().name("fuzz-check-", 1).daemon().factory());
+
+        long start = System.nanoTime();
+        try {
+            for (long i = 0; i < cases; i++) {
+                limit.acquire();
+                FuzzCase fuzzCase = FuzzCase.generate(endpoints, seed, i);
+                long sent = System.nanoTime();
+                send(fuzzCase)
+                        .handle((response, error) -> new Outcome(response, error, System.nanoTime() - sent))
+                        .thenAcceptAsync(outcome -> complete(fuzzCase, outcome, limit), checkers);
+            }
+            if (!limit.awaitIdle(timeoutMs + DRAIN_GRACE_MS, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Fuzz {}: {} requests still in flight after the drain timeout", name, limit.inFlight());
+            }
+        } finally {
+            checkers.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<Finding> findings = new ArrayList<>();
+        failures.values().stream()
+                .sorted(Comparator.comparing((Failures f) -> f.first.endpoint().name()).thenComparing(f -> f.kind))
+                .forEach(f -> findings.add(shrink(f, timeoutMs)));
+
+        Map<String, Map<String, Long>> counts = new TreeMap<>();
+        statuses.forEach((endpoint, byStatus) -> {
+            Map<String, Long> row = new TreeMap<>();
+            byStatus.forEach((status, count) -> row.put(status, count.sum()));
+            counts.put(endpoint, row);
+        });
+        FuzzReport report = new FuzzReport(name, seed, cases, elapsedSeconds, counts, findings, limit.stats());
+        LOG.info("{}", report.summary().stripTrailing());
+        return report;
+    }
+
+    private static CompletableFuture<Response> send(FuzzCase fuzzCase) {
+        try {
+            return fuzzCase.send();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void complete(FuzzCase fuzzCase, Outcome outcome, InFlightLimit limit) {
+        try {
+            String endpoint = fuzzCase.endpoint().name();
+            statuses.computeIfAbsent(endpoint, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(outcome.status(), k -> new LongAdder())
+                    .increment();
+            Violation violation = check(fuzzCase.endpoint(), outcome);
+            if (violation != null) {
+                failures.computeIfAbsent(endpoint + " " + violation.kind(), k -> new Failures(violation.kind()))
+                        .add(fuzzCase, violation);
+            }
+        } finally {
+            limit.release(outcome.nanos(), outcome.overloaded());
+        }
+    }
+
+    /**
+     * Shrinks greedily: takes the first simpler candidate that fails with the same kind of violation and starts
+     * over from it, until none does or {@code FUZZ_SHRINK_STEPS} requests are spent.
+     */
+    private Finding shrink(Failures failures, long timeoutMs) {
+        FuzzCase minimal = failures.first;
+        Violation minimalViolation = failures.firstViolation;
+        int steps = 0;
+        boolean progress = true;
+        while (progress && steps < shrinkSteps) {
+            progress = false;
+            for (FuzzCase candidate : Shrinker.candidates(minimal)) {
+                if (steps == shrinkSteps) break;
+                steps++;
+                Violation violation = check(candidate.endpoint(), execute(candidate, timeoutMs));
+                if (violation != null && violation.kind().equals(failures.kind)) {
+                    minimal = candidate;
+                    minimalViolation = violation;
+                    progress = true;
+                    break;
+                }
+            }
+        }
+        return new Finding(failures.first.endpoint().name(), failures.kind, failures.count.sum(),
+                failures.first.toString(), failures.firstViolation.detail(), minimal.toString(),
+                minimalViolation.detail(), steps);
+    }
+
+    private static Outcome execute(FuzzCase fuzzCase, long timeoutMs) {
+        long start = System.nanoTime();
+        try {
+            Response response = send(fuzzCase).get(timeoutMs + DRAIN_GRACE_MS, TimeUnit.MILLISECONDS);
+            return new Outcome(response, null, System.nanoTime() - start);
+        } catch (ExecutionException e) {
+            return new Outcome(null, e.getCause(), System.nanoTime() - start);
+        } catch (TimeoutException e) {
+            return new Outcome(null, e, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Outcome(null, e, System.nanoTime() - start);
+        }
+    }
+
+    static Violation check(Endpoint endpoint, Outcome outcome) {
+        if (outcome.error() != null) {
+            Throwable cause = outcome.error();
+            return new Violation("error " + cause.getClass().getSimpleName(), String.valueOf(cause.getMessage()));
+        }
+        Response response = outcome.response();
+        int status = response.getStatusCode();
+        byte[] body = response.asByteArray();
+        if (!EXPECTED_STATUSES.contains(status)) {
+            return new Violation("status " + status, text(body));
+        }
+        if (body.length == 0) {
+            return status == 200 && endpoint.schema() == null ? null : new Violation("not JSON", "empty body");
+        }
+        String contentType = response.getContentType();
+        if (contentType == null || !contentType.contains("json")) {
+            return new Violation("not JSON", "Content-Type " + contentType + ": " + text(body));
+        }
+        JsonNode json;
+        try {
+            json = MAPPER.readTree(body);
+        } catch (IOException e) {
+            return new Violation("not JSON", e.getMessage());
+        }
+        if (status != 200 || endpoint.schema() == null) return null;
+        if (!endpoint.list()) {
+            SchemaValidation validation = SchemaRegistry.validate(endpoint.schema(), body);
+            return validation.valid() ? null : new Violation("schema", schemaErrors(validation.details()));
+        }
+        if (!json.isArray()) return new Violation("schema", "expected an array, got " + json.getNodeType());
+        for (JsonNode item : json) {
+            SchemaValidation validation = SchemaRegistry.validateListItem(endpoint.schema(), item);
+            if (!validation.valid()) return new Violation("schema", schemaErrors(validation.details()));
+        }
+        return null;
+    }
+
+    /**
+     * The {@code error:} messages of a validation report, each prefixed with the pointer of the offending value.
+     */
+    private static String schemaErrors(String details) {
+        List<String> errors = new ArrayList<>();
+        String message = null;
+        for (String line : details.split("\\R")) {
+            String trimmed = line.strip();
+            if (trimmed.startsWith("error: ")) {
+                message = trimmed.substring("error: ".length());
+            } else if (message != null && trimmed.startsWith("instance: ")) {
+                Matcher pointer = POINTER.matcher(trimmed);
+                errors.add((pointer.find() ? pointer.group(1) : "") + " " + message);
+                message = null;
+            }
+        }
+        return abbreviate(errors.isEmpty() ? details : String.join("; ", errors));
+    }
+
+    private static String text(byte[] body) {
+        return abbreviate(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static String abbreviate(String text) {
+        String oneLine = text.replaceAll("\\s+", " ").strip();
+        return oneLine.length() <= DETAIL_CHARS ? oneLine : oneLine.substring(0, DETAIL_CHARS) + "...";
+    }
+
+    record Violation(String kind, String detail) {
+    }
+
+    record Outcome(Response response, Throwable error, long nanos) {
+
+        Outcome {
+            if (error instanceof CompletionException && error.getCause() != null) error = error.getCause();
+        }
+
+        String status() {
+            return error != null ? "error" : String.valueOf(response.getStatusCode());
+        }
+
+        boolean overloaded() {
+            return error != null || OVERLOAD_STATUSES.contains(response.getStatusCode());
+        }
+    }
+
+    /**
+     * Every case that failed one endpoint the same way; the lowest case index is kept so reruns shrink the same case.
+     */
+    private static final class Failures {
+        private final String kind;
+        private final LongAdder count = new LongAdder();
+        private FuzzCase first;
+        private Violation firstViolation;
+
+        private Failures(String kind) {
+            this.kind = kind;
+        }
+
+        private synchronized void add(FuzzCase fuzzCase, Violation violation) {
+            count.increment();
+            if (first == null || fuzzCase.index() < first.index()) {
+                first = fuzzCase;
+                firstViolation = violation;
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.assessment.bookstore.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generators for ids and {@code Book}/{@code Author} payloads. Most values are valid; the rest are boundary
+ * integers, numbers out of {@code int} range, oversized or unicode strings, malformed {@code publishDate}s, values of
+ * the wrong type, and null or missing fields. The same seed always yields the same input.
+ */
+public final class FuzzInputs {
+
+    public enum Kind { INTEGER, STRING, DATE_TIME }
+
+    public static final Map<String, Kind> BOOK = fields(
+            "id", Kind.INTEGER, "title", Kind.STRING, "description", Kind.STRING, "pageCount", Kind.INTEGER,
+            "excerpt", Kind.STRING, "publishDate", Kind.DATE_TIME);
+
+    public static final Map<String, Kind> AUTHOR = fields(
+            "id", Kind.INTEGER, "idBook", Kind.INTEGER, "firstName", Kind.STRING, "lastName", Kind.STRING);
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private static final int[] BOUNDARY_INTS = {
+            0, 1, -1, 2, 200, 201, 999_999, Short.MAX_VALUE, Short.MAX_VALUE + 1, 65_535, 65_536,
+            Integer.MAX_VALUE, Integer.MAX_VALUE - 1, Integer.MIN_VALUE, Integer.MIN_VALUE + 1};
+
+    private static final String[] SPECIAL_STRINGS = {
+            "", " ", "\t\n", "null", "undefined", "0", "-1", "true", "{}", "[]", "\"", "\\", "%s%n%x",
+            "<script>alert(1)</script>", "' OR '1'='1", "../../etc/passwd", "{{7*7}}", "${jndi:ldap://x}"};
+
+    private static final String[] UNICODE = {
+            "\u00e9", "e\u0301", "\u00df", "\u6f22\u5b57", "\u05e9\u05dc\u05d5\u05dd", "\u0645\u0631\u062d\u0628\u0627",
+            "\ud83d\ude00", "\ud83d\udc69\u200d\ud83d\udc67", "\u200b", "\u200f", "\ufeff", "\u2028",
+            "\u0000", "\u0007", "\u001b[31m", "\u2126", "\ufb01", "\ud835\udd18"};
+
+    private static final String[] MALFORMED_DATES = {
+            "", " ", "not a date", "2024-13-01T00:00:00Z", "2024-00-10T00:00:00Z", "2024-01-32T00:00:00Z",
+            "2023-02-29T00:00:00Z", "2024-01-01T24:00:00Z", "2024-01-01T23:60:00Z", "2024-01-01T23:59:61Z",
+            "2024-01-01", "2024-01-01T00:00:00", "2024-01-01 00:00:00Z", "2024-01-01t00:00:00z",
+            "2024-01-01T00:00:00+25:00", "0000-01-01T00:00:00Z", "10000-01-01T00:00:00Z",
+            "+999999999-12-31T23:59:59Z", "-0001-01-01T00:00:00Z", "01/01/2024", "2024-W01-1", "1704067200",
+            "2024-01-01T00:00:00.1234567890123Z", "2024-01-01T00:00:00ZZ", "\uff12\uff10\uff12\uff14-01-01T00:00:00Z"};
+
+    private static final int[] OVERSIZED_LENGTHS = {256, 1_025, 4_096, 65_536};
+
+    private FuzzInputs() {
+    }
+
+    public static int id(SplittableRandom random) {
+        int roll = random.nextInt(10);
+        if (roll < 5) return BOUNDARY_INTS[random.nextInt(BOUNDARY_INTS.length)];
+        if (roll < 7) return random.nextInt(-5, 300);
+        return random.nextInt();
+    }
+
+    /**
+     * An object with every field of {@code fields} present, null, missing or replaced, and now and then an unknown one.
+     */
+    public static ObjectNode payload(SplittableRandom random, Map<String, Kind> fields) {
+        ObjectNode body = NODES.objectNode();
+        fields.forEach((name, kind) -> {
+            int roll = random.nextInt(10);
+            if (roll == 0) return;
+            body.set(name, roll == 1 ? NODES.nullNode() : value(random, kind));
+        });
+        if (random.nextInt(20) == 0) {
+            body.set(random.nextBoolean() ? "unknown" : "Title", value(random, Kind.STRING));
+        }
+        return body;
+    }
+
+    static JsonNode value(SplittableRandom random, Kind kind) {
+        int roll = random.nextInt(10);
+        if (roll == 0) return wrongType(random, kind);
+        return switch (kind) {
+            case INTEGER -> roll < 6 ? NODES.numberNode(id(random)) : number(random);
+            case STRING -> NODES.textNode(roll < 5 ? word(random) : string(random));
+            case DATE_TIME -> NODES.textNode(roll < 5 ? date(random) : malformedDate(random));
+        };
+    }
+
+    private static JsonNode number(SplittableRandom random) {
+        return switch (random.nextInt(7)) {
+            case 0 -> NODES.numberNode((long) Integer.MAX_VALUE + 1);
+            case 1 -> NODES.numberNode((long) Integer.MIN_VALUE - 1);
+            case 2 -> NODES.numberNode(random.nextBoolean() ? Long.MAX_VALUE : Long.MIN_VALUE);
+            case 3 -> NODES.numberNode(BigInteger.TEN.pow(20 + random.nextInt(20)));
+            case 4 -> NODES.numberNode(new BigDecimal(random.nextInt(1000) + ".5"));
+            case 5 -> NODES.numberNode(random.nextBoolean() ? 1e308 : -0.0);
+            default -> NODES.textNode(String.valueOf(random.nextInt(300)));
+        };
+    }
+
+    private static JsonNode wrongType(SplittableRandom random, Kind kind) {
+        return switch (random.nextInt(4)) {
+            case 0 -> kind == Kind.INTEGER ? NODES.textNode(word(random)) : NODES.numberNode(random.nextInt());
+            case 1 -> NODES.booleanNode(random.nextBoolean());
+            case 2 -> NODES.arrayNode().add(value(random, kind));
+            default -> NODES.objectNode().set("value", value(random, kind));
+        };
+    }
+
+    private static String word(SplittableRandom random) {
+        StringBuilder word = new StringBuilder("Fuzz");
+        for (int i = random.nextInt(1, 12); i > 0; i--) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static String string(SplittableRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> SPECIAL_STRINGS[random.nextInt(SPECIAL_STRINGS.length)];
+            case 1 -> oversized(random);
+            default -> unicode(random);
+        };
+    }
+
+    private static String oversized(SplittableRandom random) {
+        int length = OVERSIZED_LENGTHS[random.nextInt(OVERSIZED_LENGTHS.length)];
+        String unit = random.nextBoolean() ? "x" : UNICODE[random.nextInt(UNICODE.length)];
+        StringBuilder text = new StringBuilder(length + unit.length());
+        while (text.length() < length) {
+            text.append(unit);
+        }
+        return text.toString();
+    }
+
+    private static String unicode(SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(1, 8); i > 0; i--) {
+            if (random.nextBoolean()) {
+                text.append(UNICODE[random.nextInt(UNICODE.length)]);
+            } else {
+                text.appendCodePoint(codePoint(random));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * A random printable-range code point; lone surrogates are replaced because they cannot be encoded as UTF-8.
+     */
+    private static int codePoint(SplittableRandom random) {
+        int codePoint = random.nextInt(0x20, Character.MAX_CODE_POINT + 1);
+        return codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE ? 0xfffd : codePoint;
+    }
+
+    private static String date(SplittableRandom random) {
+        Instant instant = Instant.ofEpochSecond(random.nextLong(-2_208_988_800L, 4_102_444_800L));
+        ZoneOffset offset = random.nextBoolean() ? ZoneOffset.UTC : ZoneOffset.ofHoursMinutes(
+                random.nextInt(-12, 15), 0);
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(instant.atOffset(offset));
+    }
+
+    private static String malformedDate(SplittableRandom random) {
+        if (random.nextInt(4) > 0) return MALFORMED_DATES[random.nextInt(MALFORMED_DATES.length)];
+        String valid = date(random);
+        return valid.substring(0, random.nextInt(1, valid.length()));
+    }
+
+    private static Map<String, Kind> fields(Object... namesAndKinds) {
+        Map<String, Kind> fields = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndKinds.length; i += 2) {
+            fields.put((String) namesAndKinds[i], (Kind) namesAndKinds[i + 1]);
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+}
@@ -0,0 +1,58 @@
+package com.assessment.bookstore.fuzz;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link FuzzEngine} run: response statuses per endpoint and one {@link Finding} per endpoint and kind
+ * of violation, with the smallest input that still reproduces it.
+ */
+public record FuzzReport(String name, long seed, long cases, double elapsedSeconds,
+                         Map<String, Map<String, Long>> statuses, List<Finding> findings, InFlightLimit.Stats inFlight) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public double casesPerMinute() {
+        return elapsedSeconds == 0 ? 0 : cases * 60 / elapsedSeconds;
+    }
+
+    /**
+     * @param kind          {@code status <code>}, {@code not JSON}, {@code schema} or {@code error <exception>}
+     * @param minimal       the first failing case after shrinking, as a request line
+     * @param shrinkSteps   requests spent shrinking
+     */
+    public record Finding(String endpoint, String kind, long count, String first, String detail, String minimal,
+                          String minimalDetail, int shrinkSteps) {
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "Fuzz %s: %d cases in %.1f s (%.0f per minute), seed %d, in flight peak %d (limit %d, %d decreases)%n",
+                name, cases, elapsedSeconds, casesPerMinute(), seed, inFlight.peak(), inFlight.limit(),
+                inFlight.decreases()));
+        statuses.forEach((endpoint, counts) -> summary.append(String.format("  %-38s %s%n", endpoint, counts)));
+        for (Finding finding : findings) {
+            summary.append(String.format("  %s: %s in %d cases%n    first:   %s%n    minimal: %s (%d shrink requests)%n"
+                            + "    %s%n", finding.endpoint(), finding.kind(), finding.count(), finding.first(),
+                    finding.minimal(), finding.shrinkSteps(), finding.minimalDetail()));
+        }
+        if (!findings.isEmpty()) {
+            summary.append(String.format("  rerun with -DFUZZ_SEED=%d -DFUZZ_CASES=%d%n", seed, cases));
+        }
+        return summary.toString();
+    }
+
+    public Path write() throws IOException {
+        Path file = Paths.get(System.getProperty("user.dir"), "build", "reports", "fuzz", name + ".json");
+        Files.createDirectories(file.getParent());
+        MAPPER.writeValue(file.toFile(), this);
+        return file;
+    }
+}
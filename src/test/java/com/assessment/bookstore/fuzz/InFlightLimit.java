@@ -0,0 +1,106 @@
+package com.assessment.bookstore.fuzz;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive cap on requests in flight, between 1 and {@code max}. It doubles every round trip until the first sign of
+ * overload, then grows by one per round trip (additive increase), and halves on a timeout, a 429/503 or a response
+ * slower than the target (multiplicative decrease), at most once per round trip.
+ */
+final class InFlightLimit {
+
+    private static final int INITIAL = 4;
+
+    private final int max;
+    private final long targetNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private double limit;
+    private boolean slowStart = true;
+    private int inFlight;
+    private int peak;
+    private int decreases;
+    private long sinceDecrease;
+
+    InFlightLimit(int max, long targetNanos) {
+        if (max <= 0) throw new IllegalArgumentException("FUZZ_MAX_IN_FLIGHT must be positive");
+        this.max = max;
+        this.targetNanos = targetNanos;
+        this.limit = Math.min(max, INITIAL);
+    }
+
+    void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                changed.await();
+            }
+            inFlight++;
+            peak = Math.max(peak, inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long latencyNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            inFlight--;
+            sinceDecrease++;
+            if (overloaded || latencyNanos > targetNanos) {
+                slowStart = false;
+                if (sinceDecrease >= limit) {
+                    limit = Math.max(1, limit / 2);
+                    sinceDecrease = 0;
+                    decreases++;
+                }
+            } else {
+                limit = Math.min(max, limit + (slowStart ? 1 : 1 / limit));
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for every acquired slot to be released; {@code false} when the timeout came first.
+     */
+    boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (inFlight > 0) {
+                if (remaining <= 0) return false;
+                remaining = changed.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Stats stats() {
+        lock.lock();
+        try {
+            return new Stats((int) limit, peak, decreases);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    record Stats(int limit, int peak, int decreases) {
+    }
+}
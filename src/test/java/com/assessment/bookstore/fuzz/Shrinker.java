@@ -0,0 +1,99 @@
+package com.assessment.bookstore.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Simpler variants of a failing case, most aggressive first: the id towards 0, each field removed, then each value
+ * replaced by a smaller one. Every candidate is strictly simpler than its case, so greedy shrinking terminates.
+ */
+final class Shrinker {
+
+    private Shrinker() {
+    }
+
+    static List<FuzzCase> candidates(FuzzCase failing) {
+        List<FuzzCase> candidates = new ArrayList<>();
+        if (failing.endpoint().takesId()) {
+            for (int id : smaller(failing.id())) {
+                candidates.add(failing.with(id, failing.body()));
+            }
+        }
+        ObjectNode body = failing.body();
+        if (body == null) return candidates;
+
+        for (String name : names(body)) {
+            ObjectNode without = body.deepCopy();
+            without.remove(name);
+            candidates.add(failing.with(failing.id(), without));
+        }
+        for (String name : names(body)) {
+            for (JsonNode value : smaller(body.get(name))) {
+                ObjectNode simpler = body.deepCopy();
+                simpler.set(name, value);
+                candidates.add(failing.with(failing.id(), simpler));
+            }
+        }
+        return candidates;
+    }
+
+    private static List<String> names(ObjectNode body) {
+        List<String> names = new ArrayList<>();
+        body.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private static Set<Integer> smaller(int value) {
+        Set<Integer> values = new LinkedHashSet<>();
+        if (value == 0) return values;
+        values.add(0);
+        values.add(value / 2);
+        values.add(value - Integer.signum(value));
+        values.remove(value);
+        return values;
+    }
+
+    private static List<JsonNode> smaller(JsonNode value) {
+        List<JsonNode> values = new ArrayList<>();
+        if (value.isTextual()) {
+            String text = value.textValue();
+            if (text.isEmpty()) return values;
+            values.add(TextNode.valueOf(""));
+            if (text.length() > 1) {
+                values.add(TextNode.valueOf(text.substring(0, text.length() / 2)));
+                values.add(TextNode.valueOf(text.substring(text.length() / 2)));
+            }
+            String ascii = ascii(text);
+            if (!ascii.equals(text)) values.add(TextNode.valueOf(ascii));
+        } else if (value.isIntegralNumber() && value.canConvertToInt()) {
+            smaller(value.intValue()).forEach(v -> values.add(IntNode.valueOf(v)));
+        } else if (value.isNumber()) {
+            values.add(IntNode.valueOf(0));
+            if (value.canConvertToLong() && !value.isIntegralNumber()) values.add(IntNode.valueOf(value.intValue()));
+        } else if (value.isContainerNode() && !value.isEmpty()) {
+            values.add(value.isArray() ? value.get(0) : value.elements().next());
+            values.add(value.isArray() ? ((ArrayNode) value).arrayNode() : ((ObjectNode) value).objectNode());
+        } else if (!value.isNull()) {
+            values.add(NullNode.getInstance());
+        }
+        return values;
+    }
+
+    /**
+     * {@code text} with every character outside printable ASCII replaced by {@code 'a'}.
+     */
+    private static String ascii(String text) {
+        StringBuilder ascii = new StringBuilder(text.length());
+        text.codePoints().forEach(c -> ascii.append(c >= 0x20 && c < 0x7f ? (char) c : 'a'));
+        return ascii.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.assessment.bookstore.listeners;
+
+import com.assessment.bookstore.allure.ResultsArchiveWriter;
+import com.assessment.bookstore.allure.ResultsSink;
+import com.assessment.bookstore.config.TestConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.junitplatform.AllureJunitPlatform;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+/**
+ * Allure's JUnit listener, on a lifecycle that writes to the {@code ALLURE_RESULTS_SINK}. The stock
+ * {@link AllureJunitPlatform} is deactivated in {@code junit-platform.properties}: it binds to the default
+ * file-per-result lifecycle when the launcher is created. Registered as a session listener as well, so the archive
+ * is flushed and closed only after every other listener, {@link RunSummaryListener} included, has written to it.
+ */
+public class AllureResultsListener extends AllureJunitPlatform implements LauncherSessionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AllureResultsListener.class);
+    private static ResultsArchiveWriter archive;
+
+    public AllureResultsListener() {
+        super(lifecycle());
+    }
+
+    private static synchronized AllureLifecycle lifecycle() {
+        if (archive == null && TestConfig.allureResultsSink() == ResultsSink.ARCHIVE) {
+            try {
+                archive = new ResultsArchiveWriter(
+                        Paths.get(System.getProperty("user.dir"), "build", "allure-archive"),
+                        TestConfig.allureArchiveGzip());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open the Allure results archive", e);
+            }
+            Allure.setLifecycle(new AllureLifecycle(archive));
+        }
+        return Allure.getLifecycle();
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        synchronized (AllureResultsListener.class) {
+            if (archive == null) return;
+            try {
+                archive.close();
+                LOG.info("Allure archive: {} entries, {} KB ({} KB uncompressed) in {}", archive.entries(),
+                        archive.storedBytes() / 1024, archive.rawBytes() / 1024, archive.dataFile());
+            } catch (UncheckedIOException e) {
+                LOG.warn("Allure archive is incomplete", e);
+            }
+        }
+    }
+}
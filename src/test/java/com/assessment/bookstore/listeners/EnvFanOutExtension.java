@@ -0,0 +1,201 @@
+package com.assessment.bookstore.listeners;
+
+import com.assessment.bookstore.allure.AllureCaptureFilter;
+import com.assessment.bookstore.client.ApiClient;
+import com.assessment.bookstore.client.LatencyBudget;
+import com.assessment.bookstore.config.TestConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.ResultsUtils;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.opentest4j.TestAbortedException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * With several environments in {@code ENVS}, runs each test method once per environment, all at the same time,
+ * each on its own thread bound to its environment and inside an Allure step named after it. The test fails when
+ * any environment fails. With a single environment the method runs as usual.
+ * <p>
+ * The per-environment steps are started and stopped on the test's thread: each environment's thread inherits its
+ * step as the current one and only adds to that step, never to the test case they share.
+ */
+public class EnvFanOutExtension implements InvocationInterceptor {
+
+    private static final Map<String, Outcomes> OUTCOMES = new ConcurrentHashMap<>();
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        fanOut(invocation, invocationContext, extensionContext);
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation,
+                                            ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        fanOut(invocation, invocationContext, extensionContext);
+    }
+
+    private static void fanOut(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                               ExtensionContext extensionContext) throws Throwable {
+        List<String> envs = TestConfig.envs();
+        if (envs.size() < 2) {
+            invocation.proceed();
+            return;
+        }
+        invocation.skip();
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String parentId = TestConfig.reportingEnabled() ? lifecycle.getCurrentTestCaseOrStep().orElse(null) : null;
+        if (parentId != null) {
+            Allure.parameter("environments", String.join(",", envs));
+        }
+
+        Method method = invocationContext.getExecutable();
+        method.setAccessible(true);
+        Object target = invocationContext.getTarget().orElse(null);
+        Object[] args = invocationContext.getArguments().toArray();
+        String name = extensionContext.getDisplayName();
+
+        Throwable[] errors = new Throwable[envs.size()];
+        long[] stops = new long[envs.size()];
+        StepResult[] steps = new StepResult[envs.size()];
+        String[] stepIds = new String[envs.size()];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < envs.size(); i++) {
+            int slot = i;
+            String env = envs.get(i);
+            if (parentId != null) {
+                // Pushed onto this thread's context, so the thread started next inherits it as its current step.
+                stepIds[i] = UUID.randomUUID().toString();
+                steps[i] = new StepResult().setName("[" + env + "]");
+                lifecycle.startStep(parentId, stepIds[i], steps[i]);
+            }
+            threads.add(Thread.ofPlatform().name("env-" + env).start(() -> {
+                errors[slot] = run(env, name, method, target, args);
+                stops[slot] = System.currentTimeMillis();
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (parentId != null) {
+            for (int i = envs.size() - 1; i >= 0; i--) {
+                stopStep(lifecycle, stepIds[i], steps[i], errors[i], stops[i]);
+            }
+        }
+        rethrow(envs, errors);
+    }
+
+    private static void stopStep(AllureLifecycle lifecycle, String stepId, StepResult step, Throwable error,
+                                 long stop) {
+        lifecycle.updateStep(stepId, s -> {
+            if (error == null) {
+                s.setStatus(Status.PASSED);
+            } else {
+                s.setStatus(ResultsUtils.getStatus(error).orElse(Status.BROKEN));
+                ResultsUtils.getStatusDetails(error).ifPresent(s::setStatusDetails);
+            }
+        });
+        lifecycle.stopStep(stepId);
+        // stopStep stamps the time the last environment finished; keep this environment's own.
+        step.setStop(stop);
+    }
+
+    private static Throwable run(String env, String name, Method method, Object target, Object[] args) {
+        ApiClient.useEnv(env);
+        LatencyBudget.start(Duration.ofMillis(TestConfig.profile(env).testLatencyBudgetMs()));
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            invoke(env, name, method, target, args);
+        } catch (Throwable t) {
+            error = t;
+        } finally {
+            AllureCaptureFilter.resetSpool();
+            LatencyBudget.clear();
+            ApiClient.useEnv(null);
+        }
+        OUTCOMES.computeIfAbsent(env, k -> new Outcomes()).add(error, System.nanoTime() - start);
+        return error;
+    }
+
+    private static void invoke(String env, String name, Method method, Object target, Object[] args)
+            throws Throwable {
+        try {
+            method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof TestAbortedException)) {
+                HttpLogOnFailureExtension.report(name + " [" + env + "]");
+            }
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Passes when no environment failed; aborts only when every environment aborted.
+     */
+    private static void rethrow(List<String> envs, Throwable[] errors) throws Throwable {
+        List<String> failed = new ArrayList<>();
+        Throwable firstFailure = null;
+        int aborted = 0;
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] == null) continue;
+            if (errors[i] instanceof TestAbortedException) {
+                aborted++;
+                continue;
+            }
+            failed.add("[" + envs.get(i) + "] " + errors[i]);
+            if (firstFailure == null) firstFailure = errors[i];
+        }
+        if (firstFailure != null) {
+            AssertionError error = new AssertionError("Failed in " + failed.size() + " of " + envs.size()
+                    + " environments:\n" + String.join("\n", failed), firstFailure);
+            for (Throwable t : errors) {
+                if (t != null && t != firstFailure && !(t instanceof TestAbortedException)) error.addSuppressed(t);
+            }
+            throw error;
+        }
+        if (aborted == errors.length) {
+            throw errors[0];
+        }
+    }
+
+    /**
+     * Outcomes per environment so far, sorted by environment; empty unless the run fanned out.
+     */
+    static Map<String, Outcomes> outcomes() {
+        return new TreeMap<>(OUTCOMES);
+    }
+
+    static final class Outcomes {
+        final LongAdder passed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder aborted = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        void add(Throwable error, long elapsedNanos) {
+            if (error == null) {
+                passed.increment();
+            } else if (error instanceof TestAbortedException) {
+                aborted.increment();
+            } else {
+                failed.increment();
+            }
+            nanos.add(elapsedNanos);
+        }
+    }
+}
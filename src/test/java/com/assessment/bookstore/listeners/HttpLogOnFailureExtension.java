@@ -0,0 +1,50 @@
+package com.assessment.bookstore.listeners;
+
+import com.assessment.bookstore.allure.AllureCaptureFilter;
+import com.assessment.bookstore.logging.ExchangeRecorder;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders the exchanges recorded by {@link ExchangeRecorder} and attaches the bodies spooled by
+ * {@link AllureCaptureFilter} when a test fails; passing tests render nothing.
+ */
+public class HttpLogOnFailureExtension
+        implements BeforeEachCallback, AfterEachCallback, TestExecutionExceptionHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger("http");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ExchangeRecorder.reset();
+        AllureCaptureFilter.resetSpool();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        AllureCaptureFilter.resetSpool();
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        report(context.getDisplayName());
+        throw throwable;
+    }
+
+    /**
+     * Logs and attaches what the current thread recorded for the failed test {@code name}.
+     */
+    static void report(String name) {
+        if (!ExchangeRecorder.recent().isEmpty()) {
+            String log = ExchangeRecorder.render();
+            LOG.warn("{} failed, last HTTP exchanges:\n{}", name, log);
+            Allure.addAttachment("HTTP exchanges", "text/plain", log, ".txt");
+        }
+        AllureCaptureFilter.attachSpooled();
+    }
+}
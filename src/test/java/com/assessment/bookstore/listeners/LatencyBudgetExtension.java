@@ -0,0 +1,25 @@
+package com.assessment.bookstore.listeners;
+
+import com.assessment.bookstore.client.LatencyBudget;
+import com.assessment.bookstore.config.TestConfig;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.time.Duration;
+
+/**
+ * Gives every test a wall-clock deadline {@code TEST_LATENCY_BUDGET_MS} after it starts; see {@link LatencyBudget}.
+ */
+public class LatencyBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        LatencyBudget.start(Duration.ofMillis(TestConfig.testLatencyBudgetMs()));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        LatencyBudget.clear();
+    }
+}
@@ -0,0 +1,371 @@
+package com.assessment.bookstore.listeners;
+
+import com.assessment.bookstore.allure.AllureStepAspect;
+import com.assessment.bookstore.allure.AllureStepAspect.StepOverhead;
+import com.assessment.bookstore.cassette.CassetteMode;
+import com.assessment.bookstore.client.ApiClient;
+import com.assessment.bookstore.client.ConnectionPool;
+import com.assessment.bookstore.client.ConnectionPool.PoolMetrics;
+import com.assessment.bookstore.client.ResilienceFilter;
+import com.assessment.bookstore.client.ResilienceFilter.ResilienceStats;
+import com.assessment.bookstore.client.ResponseCache;
+import com.assessment.bookstore.client.TimingFilter;
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.client.ResponseCache.CacheStats;
+import com.assessment.bookstore.data.schema.SchemaRegistry;
+import com.assessment.bookstore.perf.LatencyBaselines;
+import com.assessment.bookstore.util.StartupTimings;
+import com.assessment.bookstore.data.schema.SchemaRegistry.SchemaTiming;
+import com.assessment.bookstore.util.WaitUtils;
+import com.assessment.bookstore.util.WaitUtils.WaitStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.TestResult;
+import org.HdrHistogram.Histogram;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes per-fork run summaries to {@code build/reports/run} once the test plan has finished.
+ */
+public class RunSummaryListener implements TestExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RunSummaryListener.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double[] PERCENTILES = {50, 90, 95, 99};
+    private static final DateTimeFormatter RUN_ID_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final AtomicLong testPlanStartedAt = new AtomicLong();
+    private final AtomicLong firstTestStartedAt = new AtomicLong();
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        testPlanStartedAt.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            firstTestStartedAt.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        reportStartup();
+        reportSchemaTimings();
+        reportConnectionPool();
+        reportResponseCache();
+        reportResilience();
+        reportLatency();
+        reportEnvironments();
+        reportStepOverhead();
+        reportWaits();
+    }
+
+    private void reportStartup() {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        long jvmStart = runtime.getStartTime();
+        boolean cds = runtime.getInputArguments().stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile="));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("appCds", cds);
+        summary.put("jvmToTestPlanMillis", testPlanStartedAt.get() == 0 ? null : testPlanStartedAt.get() - jvmStart);
+        summary.put("jvmToFirstTestMillis", firstTestStartedAt.get() == 0 ? null : firstTestStartedAt.get() - jvmStart);
+        summary.put("phasesMillis", StartupTimings.millis());
+
+        LOG.info("Startup{}: test plan after {} ms, first test after {} ms, phases {}", cds ? " (AppCDS)" : "",
+                summary.get("jvmToTestPlanMillis"), summary.get("jvmToFirstTestMillis"), summary.get("phasesMillis"));
+        write("startup", summary);
+    }
+
+    private void reportSchemaTimings() {
+        Map<String, SchemaTiming> timings = SchemaRegistry.timings();
+        if (timings.isEmpty()) return;
+
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        timings.forEach((schema, t) -> {
+            LOG.info("Schema {}: {} validations, mean {} us, max {} us",
+                    schema, t.validations(), round(t.meanMicros()), round(t.maxMicros()));
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("validations", t.validations());
+            row.put("meanMicros", round(t.meanMicros()));
+            row.put("maxMicros", round(t.maxMicros()));
+            summary.put(schema, row);
+        });
+        write("schema-validation", summary);
+    }
+
+    private void reportConnectionPool() {
+        if (!ConnectionPool.isSharedStarted()) return;
+
+        PoolMetrics m = ConnectionPool.shared().metrics();
+        LOG.info("HTTP pool: {} requests over {} connections ({} connects/request), connect mean {} us, max {} us, "
+                        + "peak leased {}, peak pending {}",
+                m.requests(), m.connects(), String.format("%.3f", m.connectsPerRequest()), round(m.meanConnectMicros()),
+                round(m.maxConnectMicros()), m.peakLeased(), m.peakPending());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", m.requests());
+        summary.put("connects", m.connects());
+        summary.put("connectsPerRequest", Math.round(m.connectsPerRequest() * 1000.0) / 1000.0);
+        summary.put("meanConnectMicros", round(m.meanConnectMicros()));
+        summary.put("maxConnectMicros", round(m.maxConnectMicros()));
+        summary.put("leased", m.leased());
+        summary.put("available", m.available());
+        summary.put("pending", m.pending());
+        summary.put("max", m.max());
+        summary.put("peakLeased", m.peakLeased());
+        summary.put("peakPending", m.peakPending());
+        write("http-pool", summary);
+    }
+
+    private void reportResponseCache() {
+        if (!ResponseCache.isSharedStarted()) return;
+
+        CacheStats s = ResponseCache.shared().stats();
+        LOG.info("HTTP cache: {} hits, {} coalesced, {} misses ({} round trips saved, hit ratio {}), "
+                        + "{} invalidated, {} evicted",
+                s.hits(), s.coalesced(), s.misses(), s.roundTripsSaved(), String.format("%.3f", s.hitRatio()),
+                s.invalidations(), s.evictions());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("hits", s.hits());
+        summary.put("coalesced", s.coalesced());
+        summary.put("misses", s.misses());
+        summary.put("roundTripsSaved", s.roundTripsSaved());
+        summary.put("hitRatio", Math.round(s.hitRatio() * 1000.0) / 1000.0);
+        summary.put("stores", s.stores());
+        summary.put("invalidations", s.invalidations());
+        summary.put("evictions", s.evictions());
+        summary.put("size", s.size());
+        write("http-cache", summary);
+    }
+
+    private void reportResilience() {
+        ResilienceStats r = ResilienceFilter.stats();
+        if (r.calls() == 0) return;
+
+        LOG.info("Resilience: {} calls, {} retries, {} hedges ({} won by the hedge), {} rejected by open circuits, "
+                        + "{} over the latency budget",
+                r.calls(), r.retries(), r.hedges(), r.hedgeWins(), r.breakerRejections(), r.budgetExhausted());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("calls", r.calls());
+        summary.put("retries", r.retries());
+        summary.put("hedges", r.hedges());
+        summary.put("hedgeWins", r.hedgeWins());
+        summary.put("breakerRejections", r.breakerRejections());
+        summary.put("budgetExhausted", r.budgetExhausted());
+        write("resilience", summary);
+    }
+
+    private void reportLatency() {
+        TimingFilter.snapshotByEnv().forEach(this::reportLatency);
+    }
+
+    /**
+     * {@code ENV} writes {@code latency-<fork>.json}; other environments selected with {@code ENVS} get their name
+     * in the file, the Allure result and the baseline directory.
+     */
+    private void reportLatency(String env, Map<String, Histogram> histograms) {
+        boolean primary = env.equals(TestConfig.env());
+        String label = primary ? "" : " [" + env + "]";
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        histograms.forEach((endpoint, h) -> {
+            Map<String, Object> row = latencyRow(h);
+            endpoints.put(endpoint, row);
+            LOG.info("Latency{} {}: {} calls, p50 {} ms, p95 {} ms, p99 {} ms, max {} ms", label, endpoint,
+                    row.get("count"), row.get("p50"), row.get("p95"), row.get("p99"), row.get("max"));
+        });
+        List<String> violations = TimingFilter.slaViolations(env);
+        violations.forEach(v -> LOG.warn("Latency SLA violated{}: {}", label, v));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoints", endpoints);
+        summary.put("slaViolations", violations);
+        write(primary ? "latency" : "latency-" + env, summary);
+        if (TestConfig.reportingEnabled()) {
+            attachLatency(primary ? "" : env + "-", label, summary, violations);
+        }
+        storeBaseline(env, histograms);
+    }
+
+    private static Map<String, Object> latencyRow(Histogram h) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("count", h.getTotalCount());
+        for (double p : PERCENTILES) {
+            row.put("p" + (long) p, round(h.getValueAtPercentile(p) / 1_000.0));
+        }
+        row.put("max", round(h.getMaxValue() / 1_000.0));
+        row.put("mean", round(h.getMean() / 1_000.0));
+        return row;
+    }
+
+    /**
+     * Keeps this fork's histograms for the {@code latencyGate} task; replayed responses say nothing about latency.
+     */
+    private void storeBaseline(String env, Map<String, Histogram> histograms) {
+        if (env.equals(TestConfig.env()) && TestConfig.cassetteMode() != CassetteMode.OFF) return;
+
+        String runId = TestConfig.perfRunId().isBlank()
+                ? RUN_ID_FORMAT.format(Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()))
+                : TestConfig.perfRunId();
+        try {
+            new LatencyBaselines(Paths.get(TestConfig.perfBaselineDir()), TestConfig.perfSuite(), env)
+                    .store(runId, forkId(), histograms);
+        } catch (IOException e) {
+            LOG.warn("Failed to store latency baseline for run {}", runId, e);
+        }
+    }
+
+    /**
+     * Outcomes and latencies of every environment side by side when the run fanned out over {@code ENVS}.
+     */
+    private void reportEnvironments() {
+        Map<String, EnvFanOutExtension.Outcomes> outcomes = EnvFanOutExtension.outcomes();
+        if (outcomes.isEmpty()) return;
+
+        Map<String, Map<String, Histogram>> latencies = TimingFilter.snapshotByEnv();
+        Map<String, ConnectionPool> pools = ApiClient.envPools();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        outcomes.forEach((env, o) -> {
+            LOG.info("Environment {}: {} passed, {} failed, {} aborted, {} s of test time", env, o.passed.sum(),
+                    o.failed.sum(), o.aborted.sum(), round(o.nanos.sum() / 1_000_000_000.0));
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("baseUrl", TestConfig.baseUrl(TestConfig.profile(env)));
+            row.put("passed", o.passed.sum());
+            row.put("failed", o.failed.sum());
+            row.put("aborted", o.aborted.sum());
+            row.put("testMillis", round(o.nanos.sum() / 1_000_000.0));
+            ConnectionPool pool = env.equals(TestConfig.env())
+                    ? (ConnectionPool.isSharedStarted() ? ConnectionPool.shared() : null)
+                    : pools.get(env);
+            if (pool != null) {
+                row.put("requests", pool.metrics().requests());
+                row.put("connects", pool.metrics().connects());
+            }
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            latencies.getOrDefault(env, Map.of()).forEach((endpoint, h) -> endpoints.put(endpoint, latencyRow(h)));
+            row.put("endpoints", endpoints);
+            summary.put(env, row);
+        });
+
+        Map<String, Map<String, String>> p95ByEndpoint = new TreeMap<>();
+        latencies.forEach((env, histograms) -> histograms.forEach((endpoint, h) -> p95ByEndpoint
+                .computeIfAbsent(endpoint, k -> new TreeMap<>())
+                .put(env, round(h.getValueAtPercentile(95) / 1_000.0) + " ms")));
+        p95ByEndpoint.forEach((endpoint, byEnv) -> LOG.info("Latency p95 {}: {}", endpoint, byEnv));
+
+        write("environments", summary);
+    }
+
+    /**
+     * Allure has no run-level attachments, so the table goes on a synthetic result that fails on SLA violations.
+     */
+    private void attachLatency(String historyPrefix, String label, Map<String, Object> summary,
+                               List<String> violations) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        TestResult result = new TestResult()
+                .setUuid(uuid)
+                .setHistoryId("latency-percentiles-" + historyPrefix + forkId())
+                .setName("Latency percentiles" + label)
+                .setFullName(RunSummaryListener.class.getName() + ".latency")
+                .setStatus(violations.isEmpty() ? Status.PASSED : Status.FAILED);
+        if (!violations.isEmpty()) {
+            result.setStatusDetails(new StatusDetails().setMessage(String.join("\n", violations)));
+        }
+        try {
+            lifecycle.scheduleTestCase(result);
+            lifecycle.startTestCase(uuid);
+            lifecycle.addAttachment("latency-percentiles.json", "application/json", "json",
+                    MAPPER.writeValueAsBytes(summary));
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to attach latency percentiles to Allure", e);
+        }
+    }
+
+    private void reportStepOverhead() {
+        StepOverhead o = AllureStepAspect.overhead();
+        if (o.calls() == 0) return;
+
+        LOG.info("Allure steps ({}): {} woven calls, {} steps recorded, overhead {} ms total, mean {} us/call",
+                o.mode(), o.calls(), o.steps(), round(o.overheadNanos() / 1_000_000.0), round(o.meanOverheadMicros()));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mode", o.mode());
+        summary.put("calls", o.calls());
+        summary.put("steps", o.steps());
+        summary.put("overheadMillis", round(o.overheadNanos() / 1_000_000.0));
+        summary.put("meanOverheadMicros", round(o.meanOverheadMicros()));
+        write("allure-steps", summary);
+    }
+
+    private void reportWaits() {
+        WaitStats w = WaitUtils.stats();
+        if (w.waits() == 0) return;
+
+        LOG.info("Waits: {} completed, {} timed out, {} polls ({} per wait), mean {} ms, max {} ms",
+                w.waits(), w.timeouts(), w.polls(), round(w.pollsPerWait()), round(w.meanMillis()),
+                round(w.maxNanos() / 1_000_000.0));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("waits", w.waits());
+        summary.put("timeouts", w.timeouts());
+        summary.put("polls", w.polls());
+        summary.put("pollsPerWait", round(w.pollsPerWait()));
+        summary.put("meanMillis", round(w.meanMillis()));
+        summary.put("maxMillis", round(w.maxNanos() / 1_000_000.0));
+        write("waits", summary);
+    }
+
+    static void write(String name, Object summary) {
+        Path file = Paths.get(System.getProperty("user.dir"), "build", "reports", "run",
+                name + "-" + forkId() + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            MAPPER.writeValue(file.toFile(), summary);
+        } catch (IOException e) {
+            LOG.warn("Failed to write {}", file, e);
+        }
+    }
+
+    static String forkId() {
+        String worker = System.getProperty("org.gradle.test.worker");
+        return worker != null ? worker : String.valueOf(ProcessHandle.current().pid());
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.assessment.bookstore.ordering;
+
+import com.assessment.bookstore.config.TestConfig;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs only shard {@code N} of {@code M} when {@code TEST_SHARD=N/M} is set.
+ * <p>
+ * Every shard discovers the whole suite and splits it the same way: tests are taken longest-first by their
+ * {@link TestHistory} duration and each goes to the shard with the least work so far (LPT), so the shards of a CI
+ * matrix finish at about the same time instead of one of them drawing all the slow CRUD tests.
+ */
+public class DurationShardFilter implements PostDiscoveryFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DurationShardFilter.class);
+
+    private final Shard shard = Shard.parse(TestConfig.testShard());
+    private final Map<TestDescriptor, Set<UniqueId>> assignments = new IdentityHashMap<>();
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        if (shard == null) return FilterResult.included("sharding disabled");
+
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) root = root.getParent().get();
+        Set<UniqueId> mine = assignments.computeIfAbsent(root, this::assign);
+        return mine.contains(descriptor.getUniqueId())
+                ? FilterResult.included("in shard " + shard)
+                : FilterResult.excluded("not in shard " + shard);
+    }
+
+    private Set<UniqueId> assign(TestDescriptor root) {
+        TestHistory history = TestHistory.shared();
+        List<Weighted> tests = new ArrayList<>();
+        collectLeaves(root, history, tests);
+        tests.sort(Comparator.comparingDouble(Weighted::seconds).reversed()
+                .thenComparing(w -> w.id().toString()));
+
+        double[] load = new double[shard.total()];
+        Set<UniqueId> mine = new HashSet<>();
+        for (Weighted test : tests) {
+            int target = 0;
+            for (int i = 1; i < load.length; i++) {
+                if (load[i] < load[target]) target = i;
+            }
+            load[target] += test.seconds();
+            if (target == shard.index() - 1) mine.add(test.id());
+        }
+        LOG.info("Shard {}: {} of {} tests, ~{} s of ~{} s{}", shard, mine.size(), tests.size(),
+                Math.round(load[shard.index() - 1]), Math.round(Arrays.stream(load).sum()),
+                history.isEmpty() ? " (no test history, all tests weighted equally)" : "");
+        return mine;
+    }
+
+    private static void collectLeaves(TestDescriptor descriptor, TestHistory history, List<Weighted> into) {
+        if (descriptor.getChildren().isEmpty()) {
+            double seconds = descriptor.getSource()
+                    .filter(MethodSource.class::isInstance)
+                    .map(MethodSource.class::cast)
+                    .map(source -> history.method(source.getJavaClass(), source.getJavaMethod(),
+                            descriptor.getDisplayName()).seconds())
+                    .orElse(0.0);
+            into.add(new Weighted(descriptor.getUniqueId(), seconds));
+            return;
+        }
+        for (TestDescriptor child : descriptor.getChildren()) {
+            collectLeaves(child, history, into);
+        }
+    }
+
+    private record Weighted(UniqueId id, double seconds) {
+    }
+
+    record Shard(int index, int total) {
+
+        static Shard parse(String value) {
+            if (value == null || value.isBlank()) return null;
+            String[] parts = value.trim().split("/");
+            try {
+                Shard shard = new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+                if (parts.length == 2 && shard.total() > 0 && shard.index() >= 1 && shard.index() <= shard.total()) {
+                    return shard;
+                }
+            } catch (RuntimeException ignored) {
+            }
+            throw new IllegalArgumentException("Invalid TEST_SHARD '" + value + "', expected N/M with 1 <= N <= M");
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + total;
+        }
+    }
+}
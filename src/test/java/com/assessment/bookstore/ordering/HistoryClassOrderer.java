@@ -0,0 +1,21 @@
+package com.assessment.bookstore.ordering;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * Runs classes that failed last time first, then the longest ones, so a fork reports regressions early and its
+ * slow classes do not trail at the end of the run.
+ */
+public class HistoryClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TestHistory history = TestHistory.shared();
+        context.getClassDescriptors().sort(Comparator.comparing(
+                (ClassDescriptor d) -> history.testClass(d.getTestClass()), HistoryMethodOrderer.FAILED_THEN_LONGEST));
+    }
+}
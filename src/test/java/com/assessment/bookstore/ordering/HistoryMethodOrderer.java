@@ -0,0 +1,29 @@
+package com.assessment.bookstore.ordering;
+
+import com.assessment.bookstore.ordering.TestHistory.Estimate;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * Runs methods that failed last time first, then the longest ones; without history the declared order is kept.
+ */
+public class HistoryMethodOrderer implements MethodOrderer {
+
+    static final Comparator<Estimate> FAILED_THEN_LONGEST = Comparator
+            .comparing(Estimate::failed).reversed()
+            .thenComparing(Comparator.comparingDouble(Estimate::seconds).reversed());
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        TestHistory history = TestHistory.shared();
+        if (history.isEmpty()) return;
+
+        Class<?> testClass = context.getTestClass();
+        context.getMethodDescriptors().sort(Comparator.comparing(
+                (MethodDescriptor d) -> history.method(testClass, d.getMethod(), d.getDisplayName()),
+                FAILED_THEN_LONGEST));
+    }
+}
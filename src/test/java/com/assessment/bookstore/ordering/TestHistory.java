@@ -0,0 +1,186 @@
+package com.assessment.bookstore.ordering;
+
+import com.assessment.bookstore.config.TestConfig;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Durations and outcomes of earlier runs, read from the JUnit XML reports under {@code TEST_HISTORY_DIR}.
+ * <p>
+ * Reports are keyed by class and display name; where a test shows up in several reports the newest file wins.
+ * A parameterized method adds up every invocation whose name matches its {@code name} pattern. Tests without
+ * history are estimated at the mean of their class, or of the whole history.
+ */
+public final class TestHistory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestHistory.class);
+    private static final double DEFAULT_SECONDS = 1.0;
+    private static final String DEFAULT_INVOCATION_NAME = "[{index}] {argumentsWithNames}";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{[^}]*}");
+
+    private final Map<String, Map<String, Case>> byClass;
+    private final double meanSeconds;
+
+    private TestHistory(Map<String, Map<String, Case>> byClass) {
+        this.byClass = byClass;
+        this.meanSeconds = byClass.values().stream()
+                .flatMap(cases -> cases.values().stream())
+                .mapToDouble(Case::seconds)
+                .average()
+                .orElse(DEFAULT_SECONDS);
+    }
+
+    public static TestHistory shared() {
+        return Holder.INSTANCE;
+    }
+
+    public static TestHistory load(Path dir) {
+        Map<String, Map<String, Case>> byClass = new HashMap<>();
+        if (!Files.isDirectory(dir)) return new TestHistory(byClass);
+
+        try (Stream<Path> files = Files.walk(dir)) {
+            List<Path> reports = files
+                    .filter(p -> p.getFileName().toString().matches("TEST-.*\\.xml"))
+                    .sorted(Comparator.comparingLong(TestHistory::lastModified))
+                    .toList();
+            for (Path report : reports) {
+                read(report, byClass);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to read test history from {}", dir, e);
+        }
+        return new TestHistory(byClass);
+    }
+
+    public boolean isEmpty() {
+        return byClass.isEmpty();
+    }
+
+    public Estimate testClass(Class<?> testClass) {
+        Map<String, Case> cases = byClass.get(testClass.getName());
+        if (cases == null || cases.isEmpty()) return new Estimate(meanSeconds, false, false);
+
+        double seconds = 0;
+        boolean failed = false;
+        for (Case c : cases.values()) {
+            seconds += c.seconds();
+            failed |= c.failed();
+        }
+        return new Estimate(seconds, failed, true);
+    }
+
+    public Estimate method(Class<?> testClass, Method method, String displayName) {
+        Map<String, Case> cases = byClass.getOrDefault(testClass.getName(), Map.of());
+
+        ParameterizedTest parameterized = method.getAnnotation(ParameterizedTest.class);
+        if (parameterized != null) {
+            Pattern invocation = invocationPattern(parameterized.name(), displayName);
+            double seconds = 0;
+            boolean failed = false, known = false;
+            for (Map.Entry<String, Case> e : cases.entrySet()) {
+                if (invocation.matcher(e.getKey()).matches()) {
+                    seconds += e.getValue().seconds();
+                    failed |= e.getValue().failed();
+                    known = true;
+                }
+            }
+            if (known) return new Estimate(seconds, failed, true);
+        } else {
+            Case c = cases.get(displayName);
+            if (c != null) return new Estimate(c.seconds(), c.failed(), true);
+        }
+        double classMean = cases.values().stream().mapToDouble(Case::seconds).average().orElse(meanSeconds);
+        return new Estimate(classMean, false, false);
+    }
+
+    /**
+     * {@code "GET /Books/{0} returns 404"} becomes a regex matching {@code "GET /Books/7 returns 404"}.
+     */
+    static Pattern invocationPattern(String namePattern, String displayName) {
+        String name = namePattern.replace(ParameterizedTest.DEFAULT_DISPLAY_NAME, DEFAULT_INVOCATION_NAME)
+                .replace(ParameterizedTest.DISPLAY_NAME_PLACEHOLDER, displayName);
+        StringBuilder regex = new StringBuilder();
+        Matcher m = PLACEHOLDER.matcher(name);
+        int last = 0;
+        while (m.find()) {
+            regex.append(Pattern.quote(name.substring(last, m.start()))).append(".*?");
+            last = m.end();
+        }
+        regex.append(Pattern.quote(name.substring(last)));
+        return Pattern.compile(regex.toString());
+    }
+
+    private static void read(Path report, Map<String, Map<String, Case>> into) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        try (InputStream in = Files.newInputStream(report)) {
+            XMLStreamReader xml = factory.createXMLStreamReader(in);
+            String className = null, name = null;
+            double seconds = 0;
+            boolean failed = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "testcase" -> {
+                            className = xml.getAttributeValue(null, "classname");
+                            name = xml.getAttributeValue(null, "name");
+                            String time = xml.getAttributeValue(null, "time");
+                            seconds = time == null ? 0 : Double.parseDouble(time);
+                            failed = false;
+                        }
+                        case "failure", "error" -> failed = true;
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "testcase".equals(xml.getLocalName())
+                        && className != null && name != null) {
+                    into.computeIfAbsent(className, k -> new HashMap<>()).put(name, new Case(seconds, failed));
+                    className = null;
+                }
+            }
+            xml.close();
+        } catch (IOException | XMLStreamException | NumberFormatException e) {
+            LOG.warn("Skipping unreadable test report {}", report, e);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record Case(double seconds, boolean failed) {
+    }
+
+    /**
+     * Expected duration of a test or class and whether it failed last time; {@code known} is false for estimates.
+     */
+    public record Estimate(double seconds, boolean failed, boolean known) {
+    }
+
+    private static final class Holder {
+        static final TestHistory INSTANCE = load(Paths.get(TestConfig.testHistoryDir()));
+    }
+}
@@ -0,0 +1,146 @@
+package com.assessment.bookstore.perf;
+
+import com.assessment.bookstore.perf.RegressionGate.Shift;
+import com.assessment.bookstore.perf.RegressionGate.Status;
+import com.assessment.bookstore.perf.RegressionGate.Verdict;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * {@link RegressionGate} on synthetic histograms of evenly spaced latencies, in microseconds as
+ * {@code TimingFilter} records them, with the {@code PERF_REGRESSION_*} defaults.
+ */
+class RegressionGateTest {
+
+    private static final String ENDPOINT = "GET Books/{id}";
+
+    private final RegressionGate gate = new RegressionGate(20, 0.05, 20);
+
+    @Test
+    @DisplayName("A distribution shifted 50% slower regresses")
+    void shiftedDistributionRegresses() {
+        Verdict verdict = compare(latencies(10_000, 20_000, 200), latencies(15_000, 30_000, 200));
+
+        assertThat(verdict.status()).isEqualTo(Status.REGRESSED);
+        assertThat(verdict.shifts()).extracting(Shift::changePct)
+                .allSatisfy(change -> assertThat(change).isCloseTo(50, within(1.0)));
+        assertThat(verdict.ksStatistic()).isGreaterThan(0.4);
+        assertThat(verdict.pValue()).isLessThan(0.05);
+    }
+
+    @Test
+    @DisplayName("An unchanged distribution passes with D = 0 and p = 1")
+    void unchangedDistributionPasses() {
+        Verdict verdict = compare(latencies(10_000, 20_000, 200), latencies(10_000, 20_000, 200));
+
+        assertThat(verdict.status()).isEqualTo(Status.OK);
+        assertThat(verdict.shifts()).extracting(Shift::changePct).containsOnly(0.0);
+        assertThat(verdict.ksStatistic()).isZero();
+        assertThat(verdict.pValue()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("A faster run passes: the test is one-sided")
+    void fasterDistributionPasses() {
+        Verdict verdict = compare(latencies(15_000, 30_000, 200), latencies(10_000, 20_000, 200));
+
+        assertThat(verdict.status()).isEqualTo(Status.OK);
+        assertThat(verdict.ksStatistic()).isZero();
+    }
+
+    @Test
+    @DisplayName("A significant shift within the threshold passes")
+    void significantShiftBelowThresholdPasses() {
+        Verdict verdict = compare(latencies(10_000, 20_000, 1_000), latencies(11_000, 22_000, 1_000));
+
+        assertThat(verdict.status()).isEqualTo(Status.OK);
+        assertThat(verdict.pValue()).isLessThan(0.05);
+        assertThat(verdict.shifts()).extracting(Shift::changePct)
+                .allSatisfy(change -> assertThat(change).isLessThan(20));
+    }
+
+    @Test
+    @DisplayName("A slower tail alone passes: the percentiles grow but the distribution did not shift")
+    void slowTailWithoutShiftPasses() {
+        Histogram current = latencies(10_000, 20_000, 17);
+        current.recordValue(60_000);
+        current.recordValue(60_000);
+        current.recordValue(60_000);
+
+        Verdict verdict = compare(latencies(10_000, 20_000, 20), current);
+
+        assertThat(verdict.status()).isEqualTo(Status.OK);
+        assertThat(verdict.shifts()).filteredOn(shift -> shift.percentile() == 99)
+                .singleElement()
+                .satisfies(shift -> assertThat(shift.changePct()).isGreaterThan(20));
+        assertThat(verdict.pValue()).isGreaterThan(0.05);
+    }
+
+    @Test
+    @DisplayName("Fewer than PERF_REGRESSION_MIN_SAMPLES on either side is not judged")
+    void tooFewSamplesAreNotJudged() {
+        Verdict fewCurrent = compare(latencies(10_000, 20_000, 200), latencies(15_000, 30_000, 19));
+        Verdict fewBaseline = compare(latencies(10_000, 20_000, 19), latencies(15_000, 30_000, 200));
+
+        assertThat(fewCurrent.status()).isEqualTo(Status.INSUFFICIENT_SAMPLES);
+        assertThat(fewCurrent.currentCount()).isEqualTo(19);
+        assertThat(fewCurrent.shifts()).isEmpty();
+        assertThat(fewCurrent.pValue()).isEqualTo(1.0);
+        assertThat(fewBaseline.status()).isEqualTo(Status.INSUFFICIENT_SAMPLES);
+        assertThat(fewBaseline.baselineCount()).isEqualTo(19);
+    }
+
+    @Test
+    @DisplayName("An endpoint missing from the baseline is not judged")
+    void endpointWithoutBaselineIsNotJudged() {
+        List<Verdict> verdicts = gate.compare(Map.of(), Map.of(ENDPOINT, latencies(10_000, 20_000, 200)));
+
+        assertThat(verdicts).singleElement().satisfies(verdict -> {
+            assertThat(verdict.status()).isEqualTo(Status.INSUFFICIENT_SAMPLES);
+            assertThat(verdict.baselineCount()).isZero();
+            assertThat(verdict.currentCount()).isEqualTo(200);
+        });
+    }
+
+    @Test
+    @DisplayName("D+ is the largest lag of the current CDF behind the baseline's")
+    void ksStatisticMeasuresLag() {
+        Histogram baseline = latencies(10_000, 20_000, 100);
+
+        assertThat(RegressionGate.ksStatistic(baseline, latencies(30_000, 40_000, 100))).isEqualTo(1.0);
+        assertThat(RegressionGate.ksStatistic(baseline, latencies(10_000, 20_000, 100))).isZero();
+        assertThat(RegressionGate.ksStatistic(latencies(30_000, 40_000, 100), baseline)).isZero();
+    }
+
+    @Test
+    @DisplayName("p-value is exp(-2 * n*m/(n+m) * D^2), capped at 1")
+    void ksPValueFollowsAsymptoticFormula() {
+        assertThat(RegressionGate.ksPValue(0.5, 20, 20)).isCloseTo(Math.exp(-5), within(1e-12));
+        assertThat(RegressionGate.ksPValue(0.1, 100, 300)).isCloseTo(Math.exp(-1.5), within(1e-12));
+        assertThat(RegressionGate.ksPValue(0, 20, 20)).isEqualTo(1.0);
+    }
+
+    private Verdict compare(Histogram baseline, Histogram current) {
+        List<Verdict> verdicts = gate.compare(Map.of(ENDPOINT, baseline), Map.of(ENDPOINT, current));
+        assertThat(verdicts).hasSize(1);
+        return verdicts.getFirst();
+    }
+
+    /**
+     * {@code count} latencies spread evenly from {@code fromMicros} to {@code toMicros}.
+     */
+    private static Histogram latencies(long fromMicros, long toMicros, int count) {
+        Histogram histogram = new Histogram(3);
+        for (int i = 0; i < count; i++) {
+            histogram.recordValue(fromMicros + (toMicros - fromMicros) * i / Math.max(1, count - 1));
+        }
+        return histogram;
+    }
+}
@@ -1,6 +1,7 @@
 package com.assessment.bookstore.tests;
 
 import com.assessment.bookstore.model.Author;
+import com.assessment.bookstore.data.SharedResources;
 import com.assessment.bookstore.data.schema.SchemaPaths;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Issue;
@@ -8,18 +9,19 @@ import io.restassured.response.Response;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import com.assessment.bookstore.tags.Smoke;
 
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
+import static com.assessment.bookstore.assertions.ApiAssertions.assertMatchesSchema;
 import static com.assessment.bookstore.assertions.ApiAssertions.assertOkJson;
 import static com.assessment.bookstore.assertions.ApiAssertions.assertStatus;
+import static com.assessment.bookstore.assertions.ListAssertions.assertNonEmptyListOf;
 import static com.assessment.bookstore.data.TestData.author;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+import static com.assessment.bookstore.data.TestData.uniqueSuffix;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Feature("Authors API")
@@ -35,25 +37,18 @@ class AuthorsApiTest extends BaseApiTest {
 
         assertOkJson(response);
 
-        List<Map<String, Object>> list = response.jsonPath().getList("$");
-        assertThat(list).isNotNull().isNotEmpty();
-
-        assertThat(list).allSatisfy(item -> {
-            assertThat(item.get("id")).as("id").isNotNull();
-            assertThat(item.get("firstName")).as("firstName").isNotNull();
-        });
-
-        response.then().body(matchesJsonSchemaInClasspath(SchemaPaths.AUTHORS_LIST));
+        assertNonEmptyListOf(response, Author.class, SchemaPaths.AUTHORS_LIST, "id", "firstName");
     }
 
     @Test
     @Smoke
     @DisplayName("GET /Authors/{id} returns 200, JSON and matches schema")
+    @ResourceLock(value = SharedResources.AUTHOR_1, mode = ResourceAccessMode.READ)
     void getAuthorByIdReturnsOkJsonAndMatchesSchema() {
         Response response = authorsClient.getById(EXISTING_ID);
 
         assertOkJson(response);
-        response.then().body(matchesJsonSchemaInClasspath(SchemaPaths.AUTHOR));
+        assertMatchesSchema(response, SchemaPaths.AUTHOR);
 
         int id = response.jsonPath().getInt("id");
         String firstName = response.jsonPath().getString("firstName");
@@ -65,6 +60,7 @@ class AuthorsApiTest extends BaseApiTest {
     @Test
     @Smoke
     @DisplayName("GET /Authors/{id} for existing id returns 200 and correct payload fields")
+    @ResourceLock(value = SharedResources.AUTHOR_1, mode = ResourceAccessMode.READ)
     void getAuthorByIdWhenExistsReturnsOkAndPayloadHasFields() {
         Response response = authorsClient.getById(EXISTING_ID);
 
@@ -98,7 +94,7 @@ class AuthorsApiTest extends BaseApiTest {
         Response created = authorsClient.create(payload);
 
         assertOkJson(created);
-        created.then().body(matchesJsonSchemaInClasspath(SchemaPaths.AUTHOR));
+        assertMatchesSchema(created, SchemaPaths.AUTHOR);
 
         int createdId = created.jsonPath().getInt("id");
         String createdFirstName = created.jsonPath().getString("firstName");
@@ -125,10 +121,11 @@ class AuthorsApiTest extends BaseApiTest {
 
     @Test
     @DisplayName("PUT /Authors/{id} updates author and returns 200")
+    @ResourceLock(SharedResources.AUTHOR_1)
     void putAuthorByIdUpdatesAuthorReturnsOk() {
         int id = 1;
         Author payload = author(id, 1).toBuilder()
-                .lastName("Updated-" + UUID.randomUUID())
+                .lastName("Updated-" + uniqueSuffix())
                 .build();
 
         Response response = authorsClient.update(id, payload);
@@ -1,34 +1,44 @@
 package com.assessment.bookstore.tests;
 
 import com.assessment.bookstore.allure.AllureEnvironment;
+import com.assessment.bookstore.client.AsyncAuthorsClient;
+import com.assessment.bookstore.client.AsyncBooksClient;
 import com.assessment.bookstore.client.AuthorsClient;
 import com.assessment.bookstore.client.BooksClient;
+import com.assessment.bookstore.listeners.EnvFanOutExtension;
+import com.assessment.bookstore.listeners.HttpLogOnFailureExtension;
+import com.assessment.bookstore.listeners.LatencyBudgetExtension;
+import com.assessment.bookstore.util.IdAllocator;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+@ExtendWith({HttpLogOnFailureExtension.class, LatencyBudgetExtension.class, EnvFanOutExtension.class})
 public abstract class BaseApiTest {
 
     protected final BooksClient booksClient = new BooksClient();
     protected final AuthorsClient authorsClient = new AuthorsClient();
+    protected final AsyncBooksClient asyncBooksClient = new AsyncBooksClient();
+    protected final AsyncAuthorsClient asyncAuthorsClient = new AsyncAuthorsClient();
 
-    private static boolean allureEnvWritten = false;
+    private static final AtomicBoolean allureEnvWritten = new AtomicBoolean();
 
     protected static int uniqueId() {
-        return (int) (System.currentTimeMillis() % 1_000_000_000L);
+        return IdAllocator.shared().nextId();
     }
 
     @BeforeAll
     static void beforeAll() {
-        if (!allureEnvWritten) {
+        if (allureEnvWritten.compareAndSet(false, true)) {
             Path dir = Paths.get(
                     System.getProperty("user.dir"),
                     "build",
                     "allure-results"
             );
             AllureEnvironment.write(dir);
-            allureEnvWritten = true;
         }
     }
 }
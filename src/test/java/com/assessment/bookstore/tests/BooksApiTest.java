@@ -1,24 +1,30 @@
 package com.assessment.bookstore.tests;
 
+import com.assessment.bookstore.data.SharedResources;
 import com.assessment.bookstore.data.schema.SchemaPaths;
 import com.assessment.bookstore.model.Book;
+import com.assessment.bookstore.util.JsonUtils;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Issue;
 import io.restassured.response.Response;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import com.assessment.bookstore.tags.Smoke;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static com.assessment.bookstore.assertions.ApiAssertions.*;
+import static com.assessment.bookstore.assertions.ListAssertions.assertNonEmptyListOf;
 import static com.assessment.bookstore.data.TestData.book;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+import static com.assessment.bookstore.data.TestData.uniqueSuffix;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Feature("Books API")
@@ -34,20 +40,13 @@ class BooksApiTest extends BaseApiTest {
 
        assertOkJson(response);
 
-        List<Map<String, Object>> list = response.jsonPath().getList("$");
-        assertThat(list).isNotNull().isNotEmpty();
-
-        assertThat(list).allSatisfy(item -> {
-            assertThat(item.get("id")).as("id").isNotNull();
-            assertThat(item.get("title")).as("title").isNotNull();
-        });
-
-        response.then().body(matchesJsonSchemaInClasspath(SchemaPaths.BOOKS_LIST));
+        assertNonEmptyListOf(response, Book.class, SchemaPaths.BOOKS_LIST, "id", "title");
     }
 
     @Smoke
     @Test
     @DisplayName("GET /Books/{id} for existing id returns 200, JSON and correct id/title")
+    @ResourceLock(value = SharedResources.BOOK_1, mode = ResourceAccessMode.READ)
     void getBookByIdWhenExistsReturnsOkJsonAndCorrectIdTitle() {
         Response response = booksClient.getById(EXISTING_ID);
 
@@ -63,11 +62,46 @@ class BooksApiTest extends BaseApiTest {
     @Smoke
     @Test
     @DisplayName("GET /Books/{id} response matches book schema")
+    @ResourceLock(value = SharedResources.BOOK_1, mode = ResourceAccessMode.READ)
     void getBookByIdResponseMatchesBookSchema() {
         Response response = booksClient.getById(EXISTING_ID);
 
         assertOkJson(response);
-        response.then().body(matchesJsonSchemaInClasspath(SchemaPaths.BOOK));
+        assertMatchesSchema(response, SchemaPaths.BOOK);
+    }
+
+    @Test
+    @DisplayName("GET /Books/{id} repeated reads stay within p95/p99 latency limits")
+    @ResourceLock(value = SharedResources.BOOK_1, mode = ResourceAccessMode.READ)
+    void getBookByIdRepeatedReadsStayWithinLatencyPercentiles() {
+        List<Response> responses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Response response = booksClient.getById(EXISTING_ID);
+            assertOkJson(response);
+            responses.add(response);
+        }
+
+        assertP95Below(responses, Duration.ofSeconds(2));
+        assertP99Below(responses, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("GET /Books/{id} concurrently for every listed id returns 200 and matching id")
+    @ResourceLock(value = SharedResources.BOOKS, mode = ResourceAccessMode.READ)
+    void getBookByIdConcurrentlyForEveryListedIdReturnsOk() {
+        List<Integer> ids = booksClient.getAll().jsonPath().getList("id", Integer.class);
+
+        List<CompletableFuture<Response>> responses = ids.stream()
+                .map(asyncBooksClient::getById)
+                .toList();
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Response response = responses.get(i).join();
+            assertOkJson(response);
+            // Jackson, not jsonPath(): RestAssured compiles a Groovy expression for every path it reads.
+            assertThat(JsonUtils.fromJson(response.asString(), Book.class).getId()).isEqualTo(ids.get(i));
+        }
     }
 
     @ParameterizedTest(name = "GET /Books/{0} for non-existing id returns 404")
@@ -89,7 +123,7 @@ class BooksApiTest extends BaseApiTest {
         Response created = booksClient.create(book);
 
         assertOkJson(created);
-        created.then().body(matchesJsonSchemaInClasspath(SchemaPaths.BOOK));
+        assertMatchesSchema(created, SchemaPaths.BOOK);
 
         int createdId = created.jsonPath().getInt("id");
         String createdTitle = created.jsonPath().getString("title");
@@ -100,16 +134,17 @@ class BooksApiTest extends BaseApiTest {
 
     @Test
     @DisplayName("PUT /Books/{id} updates book (200)")
+    @ResourceLock(SharedResources.BOOK_1)
     void putBookByIdUpdatesBookReturnsOk() {
         int id = EXISTING_ID;
         Book payload = book(id).toBuilder()
-                .title("Updated " + UUID.randomUUID())
+                .title("Updated " + uniqueSuffix())
                 .build();
 
         Response updated = booksClient.update(id, payload);
 
         assertOkJson(updated);
-        updated.then().body(matchesJsonSchemaInClasspath(SchemaPaths.BOOK));
+        assertMatchesSchema(updated, SchemaPaths.BOOK);
 
         int updatedId = updated.jsonPath().getInt("id");
         String updatedTitle = updated.jsonPath().getString("title");
@@ -132,6 +167,7 @@ class BooksApiTest extends BaseApiTest {
 
     @Test
     @DisplayName("DELETE /Books/{id} deletes existing book and makes it unavailable")
+    @ResourceLock(SharedResources.BOOKS)
     void deleteBookByIdDeletesBookAndMakesItUnavailable() {
         int id = uniqueId();
         Book payload = book(id);
@@ -0,0 +1,47 @@
+package com.assessment.bookstore.tests;
+
+import com.assessment.bookstore.config.TestConfig;
+import com.assessment.bookstore.fuzz.Endpoint;
+import com.assessment.bookstore.fuzz.FuzzEngine;
+import com.assessment.bookstore.fuzz.FuzzReport;
+import com.assessment.bookstore.tags.Fuzz;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based runs of {@code FUZZ_CASES} generated ids and payloads per client; excluded unless the {@code fuzz}
+ * task or {@code -Dtag=fuzz} selects them.
+ */
+@Fuzz
+@Feature("Fuzzing")
+class FuzzApiTest extends BaseApiTest {
+
+    @Test
+    @DisplayName("BooksClient answers fuzzed ids and payloads with 200/400/404 JSON, schema-valid on 200")
+    void booksClientHoldsInvariantsForFuzzedInputs() throws Exception {
+        assertNoViolations(FuzzEngine.fromConfig("books", Endpoint.books(asyncBooksClient)).run());
+    }
+
+    @Test
+    @DisplayName("AuthorsClient answers fuzzed ids and payloads with 200/400/404 JSON, schema-valid on 200")
+    void authorsClientHoldsInvariantsForFuzzedInputs() throws Exception {
+        assertNoViolations(FuzzEngine.fromConfig("authors", Endpoint.authors(asyncAuthorsClient)).run());
+    }
+
+    private static void assertNoViolations(FuzzReport report) throws Exception {
+        report.write();
+        if (TestConfig.reportingEnabled()) {
+            Allure.addAttachment("Fuzz summary", "text/plain", report.summary());
+        }
+        List<FuzzReport.Finding> findings = report.findings();
+        assertThat(findings)
+                .withFailMessage("%d kinds of invariant violation%n%s", findings.size(), report.summary())
+                .isEmpty();
+    }
+}